@@ -0,0 +1,20 @@
+/**
+ * 벤치마크 하나 (BenchmarkRunner 가 파라미터 조합마다 setup 후 run 을 반복 호출)
+ */
+public interface Benchmark {
+
+    /**
+     * 출력/필터링용 이름
+     */
+    String name();
+
+    /**
+     * 파라미터 조합별 준비 (측정 시간에 포함되지 않음)
+     */
+    void setup(int players, int objects);
+
+    /**
+     * 측정 대상 1회 실행. 결과를 돌려줘서 JIT가 계산을 지우지 못하게 함
+     */
+    Object run();
+}
@@ -0,0 +1,34 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크 공용 입력 데이터 (고정 시드라 실행마다 같음)
+ */
+final class BenchmarkData {
+    private static final int[] TYPES = ObjectTypes.pool("CONSTRUCTION");
+
+    private BenchmarkData() {
+    }
+
+    static List<GameServer.PlayerData> serverPlayers(EntityTable table, int count) {
+        Random r = new Random(1);
+        List<GameServer.PlayerData> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GameServer.PlayerData p = new GameServer.PlayerData(table, "PLAYER_" + i, "player" + i);
+            p.setSeeker(i == 0);
+            p.moveTo(100 + r.nextDouble() * 1800, 100 + r.nextDouble() * 1000);
+            p.disguise = p.isSeeker() ? ObjectTypes.NONE : TYPES[r.nextInt(TYPES.length)];
+            list.add(p);
+        }
+        return list;
+    }
+
+    static void serverObjects(EntityTable table, int count) {
+        Random r = new Random(2);
+        for (int i = 0; i < count; i++) {
+            table.addObject(i, TYPES[r.nextInt(TYPES.length)],
+                    80 + r.nextDouble() * 1840, 80 + r.nextDouble() * 1040, ObjectTypes.DEFAULT_RADIUS);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 서버/클라이언트 핫패스 마이크로벤치마크 실행기 (JMH 대용 최소 하니스)
+ * - 파라미터(players × objects) 조합마다 워밍업 후 측정 반복, 반복별 ns/op 의 평균과 표준편차 출력
+ * - 결과는 sink 에 섞어서 JIT의 죽은 코드 제거를 막음
+ *
+ * 옵션: -wi 워밍업 반복 수, -i 측정 반복 수, -r 반복당 ms, -p players=2,10 -p objects=30,200, 나머지 = 이름 필터
+ * 첫 인자가 startup 이면 테마 이미지 읽기 시간 비교(SpriteStartupBenchmark)를 대신 실행
+ */
+public class BenchmarkRunner {
+    private static int sink;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("startup")) {
+            SpriteStartupBenchmark.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        int warmups = 3, iterations = 5;
+        long iterMs = 500;
+        int[] players = {2, 10, 50};
+        int[] objects = {30, 200};
+        List<String> filters = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi" -> warmups = Integer.parseInt(args[++i]);
+                case "-i" -> iterations = Integer.parseInt(args[++i]);
+                case "-r" -> iterMs = Long.parseLong(args[++i]);
+                case "-p" -> {
+                    String[] kv = args[++i].split("=", 2);
+                    int[] values = parseInts(kv[1]);
+                    if (kv[0].equals("players"))
+                        players = values;
+                    else if (kv[0].equals("objects"))
+                        objects = values;
+                }
+                default -> filters.add(args[i]);
+            }
+        }
+
+        Benchmark[] all = {
+                new ShootRayBenchmark(),
+                new RaycastBenchmark(),
+                new GameStateEncodeBenchmark(),
+                new GameStateDecodeBenchmark(),
+                new PlayerDataCodecBenchmark(),
+        };
+
+        System.out.printf("%-22s %8s %8s %14s %12s%n", "Benchmark", "players", "objects", "ns/op", "stddev");
+        for (Benchmark b : all) {
+            if (!matches(b.name(), filters))
+                continue;
+            for (int p : players) {
+                for (int o : objects) {
+                    b.setup(p, o);
+                    for (int w = 0; w < warmups; w++) {
+                        measure(b, iterMs);
+                    }
+                    double[] scores = new double[iterations];
+                    for (int it = 0; it < iterations; it++) {
+                        scores[it] = measure(b, iterMs);
+                    }
+                    System.out.printf("%-22s %8d %8d %14.1f %12.1f%n", b.name(), p, o, mean(scores), stddev(scores));
+                }
+            }
+        }
+        if (sink == 42)
+            System.out.println(); // sink 사용 흔적
+    }
+
+    /**
+     * iterMs 동안 반복 실행 후 ns/op. 시계 읽기 비용을 줄이려고 묶음 단위로 시간 확인
+     */
+    private static double measure(Benchmark b, long iterMs) {
+        long deadline = System.nanoTime() + iterMs * 1_000_000L;
+        long ops = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long now;
+        do {
+            for (int i = 0; i < batch; i++) {
+                sink ^= System.identityHashCode(b.run());
+            }
+            ops += batch;
+            now = System.nanoTime();
+            if (batch < 1 << 16 && now - start < iterMs * 100_000L)
+                batch <<= 1; // 반복 시간의 1/10 전까지 묶음 크기를 키움
+        } while (now < deadline);
+        return (now - start) / (double) ops;
+    }
+
+    private static boolean matches(String name, List<String> filters) {
+        if (filters.isEmpty())
+            return true;
+        for (String f : filters) {
+            if (name.contains(f))
+                return true;
+        }
+        return false;
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = Integer.parseInt(parts[i].trim());
+        }
+        return out;
+    }
+
+    private static double mean(double[] v) {
+        double s = 0;
+        for (double d : v)
+            s += d;
+        return s / v.length;
+    }
+
+    private static double stddev(double[] v) {
+        if (v.length < 2)
+            return 0;
+        double m = mean(v), s = 0;
+        for (double d : v)
+            s += (d - m) * (d - m);
+        return Math.sqrt(s / (v.length - 1));
+    }
+}
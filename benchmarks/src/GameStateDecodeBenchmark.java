@@ -0,0 +1,39 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameClient.decodeGameState - parseGameState 의 GAME_STATE 파싱 부분
+ */
+public class GameStateDecodeBenchmark implements Benchmark {
+    private String message;
+    private final List<GameClient.ObjectInfo> map = new ArrayList<>();
+
+    @Override
+    public String name() {
+        return "GameStateDecode";
+    }
+
+    @Override
+    public void setup(int playerCount, int objectCount) {
+        EntityTable entities = new EntityTable();
+        List<GameServer.PlayerData> players = BenchmarkData.serverPlayers(entities, playerCount);
+        BenchmarkData.serverObjects(entities, objectCount);
+        message = GameServer.encodeGameState(GameServer.GameState.PLAYING, players, entities);
+        // 클라이언트가 MAP_SEED 로 생성해 둔 맵 (인덱스 = 배치 번호)
+        map.clear();
+        for (int h = 0; h < entities.limit(); h++) {
+            if (entities.has(h, EntityTable.FLAG_OBJECT))
+                map.add(new GameClient.ObjectInfo(entities.type[h], entities.x[h], entities.y[h]));
+        }
+    }
+
+    @Override
+    public Object run() {
+        List<GameClient.PlayerData> players = new ArrayList<>();
+        Map<String, GameClient.ObjectInfo> objects = new LinkedHashMap<>();
+        GameClient.decodeGameState(message, players, objects, map);
+        return objects;
+    }
+}
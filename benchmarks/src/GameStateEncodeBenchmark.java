@@ -0,0 +1,26 @@
+import java.util.List;
+
+/**
+ * GameServer.encodeGameState - sendGameState 의 GAME_STATE 문자열 인코딩
+ */
+public class GameStateEncodeBenchmark implements Benchmark {
+    private List<GameServer.PlayerData> players;
+    private EntityTable entities;
+
+    @Override
+    public String name() {
+        return "GameStateEncode";
+    }
+
+    @Override
+    public void setup(int playerCount, int objectCount) {
+        entities = new EntityTable();
+        players = BenchmarkData.serverPlayers(entities, playerCount);
+        BenchmarkData.serverObjects(entities, objectCount);
+    }
+
+    @Override
+    public Object run() {
+        return GameServer.encodeGameState(GameServer.GameState.PLAYING, players, entities);
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * NetworkProtocol.encodePlayerData / decodePlayerData - 플레이어 전체 왕복 (1 op = 전원 인코딩+디코딩)
+ * objects 파라미터는 사용하지 않음
+ */
+public class PlayerDataCodecBenchmark implements Benchmark {
+    private final List<GameData.PlayerData> players = new ArrayList<>();
+
+    @Override
+    public String name() {
+        return "PlayerDataCodec";
+    }
+
+    @Override
+    public void setup(int playerCount, int objectCount) {
+        Random r = new Random(1);
+        players.clear();
+        for (int i = 0; i < playerCount; i++) {
+            GameData.PlayerData p = new GameData.PlayerData("PLAYER_" + i, "player" + i);
+            p.isSeeker = (i == 0);
+            p.x = r.nextDouble() * GameConstants.WORLD_WIDTH;
+            p.y = r.nextDouble() * GameConstants.WORLD_HEIGHT;
+            p.disguise = (i == 0) ? null : "BOX";
+            players.add(p);
+        }
+    }
+
+    @Override
+    public Object run() {
+        GameData.PlayerData last = null;
+        for (GameData.PlayerData p : players) {
+            last = NetworkProtocol.decodePlayerData(NetworkProtocol.encodePlayerData(p).split(":"));
+        }
+        return last;
+    }
+}
@@ -0,0 +1,55 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * GameLogic.performRaycast - 모듈형 서버의 레이캐스트 판정
+ */
+public class RaycastBenchmark implements Benchmark {
+    private static final int DIRECTIONS = 256;
+
+    private final GameLogic logic = new GameLogic();
+    private final Map<String, GameData.PlayerData> players = new HashMap<>();
+    private final Map<String, GameData.ObjectInfo> objects = new HashMap<>();
+    private double sx, sy;
+    private final double[] dirX = new double[DIRECTIONS];
+    private final double[] dirY = new double[DIRECTIONS];
+    private int next = 0;
+
+    @Override
+    public String name() {
+        return "Raycast";
+    }
+
+    @Override
+    public void setup(int playerCount, int objectCount) {
+        Random r = new Random(1);
+        players.clear();
+        objects.clear();
+        for (int i = 0; i < playerCount; i++) {
+            GameData.PlayerData p = new GameData.PlayerData("P" + i, "p" + i);
+            p.isSeeker = (i == 0);
+            p.x = 100 + r.nextDouble() * (GameConstants.WORLD_WIDTH - 200);
+            p.y = 100 + r.nextDouble() * (GameConstants.WORLD_HEIGHT - 200);
+            players.put(p.id, p);
+        }
+        for (int i = 0; i < objectCount; i++) {
+            objects.put("OBJ_" + i, new GameData.ObjectInfo("BOX",
+                    80 + r.nextDouble() * (GameConstants.WORLD_WIDTH - 160),
+                    80 + r.nextDouble() * (GameConstants.WORLD_HEIGHT - 160)));
+        }
+        sx = players.get("P0").x;
+        sy = players.get("P0").y;
+        for (int i = 0; i < DIRECTIONS; i++) {
+            double a = Math.PI * 2 * i / DIRECTIONS;
+            dirX[i] = Math.cos(a);
+            dirY[i] = Math.sin(a);
+        }
+    }
+
+    @Override
+    public Object run() {
+        int i = next++ & (DIRECTIONS - 1);
+        return logic.performRaycast(sx, sy, dirX[i], dirY[i], players, objects);
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.Random;
+
+/**
+ * GameServer.traceRay - SHOOT_RAY 판정 (랙 보정 되감기 + 레이 전진)
+ * 전송/상태 변경을 빼고 판정 비용만 측정
+ */
+public class ShootRayBenchmark implements Benchmark {
+    private static final int DIRECTIONS = 256;
+
+    private GameServer server;
+    private String seekerId;
+    private double sx, sy;
+    private final double[] dirX = new double[DIRECTIONS];
+    private final double[] dirY = new double[DIRECTIONS];
+    private int next = 0;
+    private long rewindTo;
+
+    @Override
+    public String name() {
+        return "ShootRay";
+    }
+
+    @Override
+    public void setup(int players, int objects) {
+        Random r = new Random(1);
+        server = new GameServer();
+        server.gameState = GameServer.GameState.PLAYING;
+
+        long now = System.nanoTime() / 1_000_000L;
+        for (int i = 0; i < players; i++) {
+            GameServer.PlayerData p = new GameServer.PlayerData(server.entities, "P" + i, "p" + i);
+            p.setSeeker(i == 0);
+            p.moveTo(100 + r.nextDouble() * 1800, 100 + r.nextDouble() * 1000);
+            // 최근 1초 이동 이력 (60Hz)
+            for (int k = 60; k >= 0; k--) {
+                p.history.record(now - k * 16L, p.x() + k, p.y());
+            }
+            server.players.put(p.id, p);
+        }
+        for (int i = 0; i < objects; i++) {
+            server.entities.addObject(i, ObjectTypes.find("CONSTRUCTION", "BOX"),
+                    80 + r.nextDouble() * 1840, 80 + r.nextDouble() * 1040, ObjectTypes.DEFAULT_RADIUS);
+        }
+
+        GameServer.PlayerData seeker = server.players.get("P0");
+        seekerId = seeker.id;
+        sx = seeker.x();
+        sy = seeker.y();
+        for (int i = 0; i < DIRECTIONS; i++) {
+            double a = Math.PI * 2 * i / DIRECTIONS;
+            dirX[i] = Math.cos(a);
+            dirY[i] = Math.sin(a);
+        }
+        rewindTo = now - 100;
+    }
+
+    @Override
+    public Object run() {
+        int i = next++ & (DIRECTIONS - 1);
+        return server.traceRay(seekerId, sx, sy, dirX[i], dirY[i], rewindTo);
+    }
+}
@@ -0,0 +1,92 @@
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클라이언트 시작 시 테마 이미지 읽기: PNG 디코딩 vs 스프라이트 번들(FileChannel.map)
+ * - cold = 새 JVM 에서 첫 읽기 (ImageIO/클래스 초기화 포함), 조합마다 자식 JVM 을 새로 띄움
+ * - warm = 같은 JVM 에서 이어서 n 번 읽은 평균
+ * 번들은 gradle bundleSprites 로 먼저 만들어 둘 것
+ *
+ * 실행: gradle :benchmarks:run --args="startup [-n 5] [-dir ../build/sprites]"
+ */
+public class SpriteStartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(args[1], args[2], Integer.parseInt(args[3]));
+            return;
+        }
+        int warm = 5;
+        String dir = System.getProperty("sprites.dir", new File("../build/sprites").isDirectory()
+                ? "../build/sprites" : "build/sprites");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-n" -> warm = Integer.parseInt(args[++i]);
+                case "-dir" -> dir = args[++i];
+                default -> {
+                }
+            }
+        }
+        if (!new File(dir).isDirectory())
+            System.out.println("번들 폴더 없음: " + dir + " (gradle bundleSprites 먼저 실행)");
+
+        System.out.printf("%-20s %-8s %8s %12s %12s%n", "theme", "source", "images", "cold ms", "warm ms");
+        for (GameConstants.Theme theme : GameConstants.Theme.values()) {
+            String folder = ObjectTypes.folder(theme.name());
+            for (String source : new String[]{"png", "bundle"}) {
+                System.out.printf("%-20s %-8s %s%n", folder, source, runChild(dir, source, folder, warm));
+            }
+        }
+    }
+
+    private static String runChild(String dir, String source, String folder, int warm)
+            throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>(List.of(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                "-Djava.awt.headless=true",
+                "-Dsprites.dir=" + dir,
+                SpriteStartupBenchmark.class.getName(), "--child", source, folder, String.valueOf(warm)));
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String result = "실패";
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.startsWith("RESULT "))
+                    result = line.substring(7);
+            }
+        }
+        p.waitFor();
+        return result;
+    }
+
+    /**
+     * 자식 JVM: 첫 읽기(cold) 후 warm 번 더 읽어 평균
+     */
+    private static void child(String source, String folder, int warm) {
+        long t0 = System.nanoTime();
+        Map<String, BufferedImage> images = load(source, folder);
+        double coldMs = (System.nanoTime() - t0) / 1e6;
+        if (images == null) {
+            System.out.println("RESULT 번들 없음");
+            return;
+        }
+        double total = 0;
+        for (int i = 0; i < warm; i++) {
+            long t = System.nanoTime();
+            load(source, folder);
+            total += (System.nanoTime() - t) / 1e6;
+        }
+        System.out.printf("RESULT %8d %12.1f %12.1f%n", images.size(), coldMs, warm > 0 ? total / warm : 0);
+    }
+
+    private static Map<String, BufferedImage> load(String source, String folder) {
+        return source.equals("png") ? ImageManager.decodePngs(folder) : ImageManager.loadBundle(folder);
+    }
+}
@@ -0,0 +1,230 @@
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로거 - 게임 스레드가 콘솔 락에 막히지 않도록 기록만 하고 바로 반환
+ * - 여러 생산자 / 소비자 1개 링버퍼 (AtomicLong 자리 예약 + AtomicReferenceArray), 락 없음
+ * - 버퍼가 가득 차면 기다리지 않고 버림 (버린 개수는 나중에 한 줄로 알림)
+ * - 레벨 필터 (-Dlog.level=DEBUG/INFO/WARN/ERROR, 기본 INFO)
+ * - 같은 템플릿은 초당 RATE_LIMIT_PER_SEC 번까지만 기록, 나머지는 생략 개수만 집계
+ * - 메시지 포맷팅("{}" 치환)은 소비자 스레드에서 수행
+ *
+ * 사용: AsyncLogger.info("연결: {}", clientId);
+ */
+public final class AsyncLogger {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    private static final int CAPACITY = 1 << 13; // 2의 거듭제곱
+    private static final int MASK = CAPACITY - 1;
+    private static final int RATE_LIMIT_PER_SEC = 20;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private static final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong(); // 다음에 예약할 자리 (생산자들)
+    private static final AtomicLong head = new AtomicLong(); // 다음에 읽을 자리 (소비자만 씀)
+    private static final LongAdder dropped = new LongAdder();
+    private static final Map<String, RateWindow> windows = new ConcurrentHashMap<>();
+    private static volatile Level minLevel = Level.valueOf(System.getProperty("log.level", "INFO").toUpperCase());
+    private static final Thread consumer;
+    private static volatile boolean consumerParked = false;
+
+    static {
+        consumer = new Thread(AsyncLogger::drainLoop, "async-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogger::drainAll, "async-logger-flush"));
+    }
+
+    private AsyncLogger() {
+    }
+
+    public static void debug(String template, Object... args) {
+        log(Level.DEBUG, template, args);
+    }
+
+    public static void info(String template, Object... args) {
+        log(Level.INFO, template, args);
+    }
+
+    public static void warn(String template, Object... args) {
+        log(Level.WARN, template, args);
+    }
+
+    /**
+     * 마지막 인자가 Throwable 이면 스택 트레이스도 출력
+     */
+    public static void error(String template, Object... args) {
+        log(Level.ERROR, template, args);
+    }
+
+    public static void setLevel(Level level) {
+        minLevel = level;
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= minLevel.ordinal();
+    }
+
+    public static long getDropped() {
+        return dropped.sum();
+    }
+
+    public static void log(Level level, String template, Object... args) {
+        if (!isEnabled(level))
+            return;
+        long suppressedBefore = windows.computeIfAbsent(template, k -> new RateWindow()).tryAcquire();
+        if (suppressedBefore < 0)
+            return; // 이번 1초 창에서 한도 초과
+
+        Entry e = new Entry(level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                template, args, suppressedBefore);
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= CAPACITY) {
+                dropped.increment(); // 가득 참: 게임 스레드를 막지 않고 버림
+                return;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & MASK), e);
+                break;
+            }
+        }
+        if (consumerParked)
+            LockSupport.unpark(consumer);
+    }
+
+    // ================== 소비자 ==================
+
+    private static void drainLoop() {
+        long reportedDrops = 0;
+        while (true) {
+            if (!drainOnce()) {
+                long d = dropped.sum();
+                if (d != reportedDrops) {
+                    System.err.println(TIME.format(LocalTime.now()) + " WARN  [async-logger] 버퍼 초과로 버린 로그 "
+                            + (d - reportedDrops) + "개");
+                    reportedDrops = d;
+                }
+                consumerParked = true;
+                if (head.get() >= tail.get())
+                    LockSupport.parkNanos(5_000_000L); // 깨우기를 놓친 경우 대비 5ms 주기 확인
+                consumerParked = false;
+            }
+        }
+    }
+
+    /**
+     * 한 항목 처리. 읽을 것이 없으면(또는 예약만 되고 아직 안 써졌으면) false
+     */
+    private static synchronized boolean drainOnce() {
+        long h = head.get();
+        if (h >= tail.get())
+            return false;
+        int idx = (int) (h & MASK);
+        Entry e = slots.get(idx);
+        if (e == null)
+            return false; // 생산자가 자리만 예약하고 아직 기록 전
+        slots.set(idx, null);
+        head.lazySet(h + 1);
+        write(e);
+        return true;
+    }
+
+    private static void drainAll() {
+        while (drainOnce()) {
+            // 종료 직전 남은 로그 출력
+        }
+        System.out.flush();
+        System.err.flush();
+    }
+
+    private static void write(Entry e) {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append(TIME.format(LocalTime.ofInstant(Instant.ofEpochMilli(e.timeMs), ZoneId.systemDefault())))
+                .append(' ').append(String.format("%-5s", e.level))
+                .append(" [").append(e.thread).append("] ");
+        Throwable thrown = format(sb, e.template, e.args);
+        if (e.suppressedBefore > 0)
+            sb.append(" (앞서 같은 로그 ").append(e.suppressedBefore).append("개 생략)");
+
+        PrintStream ps = e.level.ordinal() >= Level.WARN.ordinal() ? System.err : System.out;
+        ps.println(sb);
+        if (thrown != null)
+            thrown.printStackTrace(ps);
+    }
+
+    /**
+     * "{}" 를 순서대로 인자로 치환. 남는 마지막 인자가 Throwable 이면 돌려줌
+     */
+    private static Throwable format(StringBuilder sb, String template, Object[] args) {
+        int argIdx = 0, from = 0;
+        while (true) {
+            int at = template.indexOf("{}", from);
+            if (at < 0 || argIdx >= args.length)
+                break;
+            sb.append(template, from, at).append(args[argIdx++]);
+            from = at + 2;
+        }
+        sb.append(template, from, template.length());
+        if (argIdx < args.length && args[args.length - 1] instanceof Throwable t)
+            return t;
+        return null;
+    }
+
+    // ================== 내부 타입 ==================
+
+    private static final class Entry {
+        final Level level;
+        final long timeMs;
+        final String thread;
+        final String template;
+        final Object[] args;
+        final long suppressedBefore;
+
+        Entry(Level level, long timeMs, String thread, String template, Object[] args, long suppressedBefore) {
+            this.level = level;
+            this.timeMs = timeMs;
+            this.thread = thread;
+            this.template = template;
+            this.args = args;
+            this.suppressedBefore = suppressedBefore;
+        }
+    }
+
+    /**
+     * 템플릿별 1초 고정 창 카운터 (경합 시 약간 넘칠 수 있으나 락 없음)
+     */
+    private static final class RateWindow {
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        /**
+         * 허용이면 앞서 생략된 개수(>= 0), 한도 초과면 -1
+         */
+        long tryAcquire() {
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            if (now - start >= 1_000_000_000L && windowStart.compareAndSet(start, now)) {
+                count.set(0);
+            }
+            if (count.incrementAndGet() > RATE_LIMIT_PER_SEC) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
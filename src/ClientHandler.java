@@ -9,8 +9,10 @@ public class ClientHandler implements Runnable {
     private final String clientId;
     private final GameServerModular server;
     private PrintWriter out;
+    private volatile OutputStream rawOut;
+    private final Object sendLock = new Object(); // sendMessage / sendRaw 순서 보장
     private BufferedReader in;
-    private boolean connected = true;
+    private volatile boolean connected = true;
 
     public ClientHandler(Socket socket, String clientId, GameServerModular server) {
         this.socket = socket;
@@ -21,18 +23,20 @@ public class ClientHandler implements Runnable {
     @Override
     public void run() {
         try {
-            out = new PrintWriter(socket.getOutputStream(), true);
+            rawOut = socket.getOutputStream();
+            out = new PrintWriter(rawOut, true);
             in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
 
-            // 연결 확인 메시지 전송
+            // 연결 확인 메시지 + 초기 맵 (출력 스트림이 준비된 뒤에 보내야 유실되지 않음)
             sendMessage(NetworkProtocol.MSG_CONNECTED + ":" + clientId);
+            server.sendInitialMap(this);
 
             String inputLine;
             while ((inputLine = in.readLine()) != null && connected) {
                 handleMessage(inputLine.trim());
             }
         } catch (IOException e) {
-            System.err.println("클라이언트 " + clientId + " 오류: " + e.getMessage());
+            AsyncLogger.warn("클라이언트 {} 오류: {}", clientId, e.getMessage());
         } finally {
             cleanup();
         }
@@ -59,7 +63,11 @@ public class ClientHandler implements Runnable {
             case NetworkProtocol.CMD_CHAT -> handleChat(parts);
             case NetworkProtocol.CMD_CHANGE_DISGUISE -> handleDisguiseChange();
             case NetworkProtocol.CMD_DISCONNECT -> handleDisconnect();
-            default -> System.err.println("알 수 없는 명령: " + command);
+            case NetworkProtocol.CMD_PING -> {
+                if (parts.length > 1)
+                    sendMessage(ClockSync.pong(parts[1], System.currentTimeMillis()));
+            }
+            default -> AsyncLogger.warn("알 수 없는 명령: {} ({})", command, clientId); // 템플릿 단위로 초당 기록 수 제한
         }
     }
 
@@ -72,7 +80,7 @@ public class ClientHandler implements Runnable {
 
         String playerName = parts[1];
         server.addPlayer(clientId, playerName);
-        System.out.println("플레이어 입장: " + playerName + " (" + clientId + ")");
+        AsyncLogger.info("플레이어 입장: {} ({})", playerName, clientId);
     }
 
     /**
@@ -94,7 +102,7 @@ public class ClientHandler implements Runnable {
             double y = Double.parseDouble(parts[2]);
             server.handlePlayerMove(clientId, x, y);
         } catch (NumberFormatException e) {
-            System.err.println("잘못된 이동 데이터: " + String.join(":", parts));
+            AsyncLogger.warn("잘못된 이동 데이터: {}", String.join(":", parts));
         }
     }
 
@@ -112,7 +120,7 @@ public class ClientHandler implements Runnable {
             double dirY = Double.parseDouble(parts[4]);
             server.handleShoot(clientId, startX, startY, dirX, dirY);
         } catch (NumberFormatException e) {
-            System.err.println("잘못된 사격 데이터: " + String.join(":", parts));
+            AsyncLogger.warn("잘못된 사격 데이터: {}", String.join(":", parts));
         }
     }
 
@@ -146,7 +154,25 @@ public class ClientHandler implements Runnable {
      */
     public void sendMessage(String message) {
         if (out != null && connected) {
-            out.println(message);
+            synchronized (sendLock) {
+                out.println(message);
+            }
+        }
+    }
+
+    /**
+     * 미리 인코딩된 한 줄을 그대로 전송 (여러 클라이언트에 같은 바이트 재사용)
+     */
+    public void sendRaw(Payload payload) {
+        if (rawOut == null || !connected || payload == null)
+            return;
+        try {
+            synchronized (sendLock) {
+                rawOut.write(payload.bytes());
+                rawOut.flush();
+            }
+        } catch (IOException e) {
+            AsyncLogger.warn("전송 오류 {}: {}", clientId, e.getMessage());
         }
     }
 
@@ -162,6 +188,7 @@ public class ClientHandler implements Runnable {
      */
     private void cleanup() {
         connected = false;
+        server.unregister(this);
         server.removePlayer(clientId);
 
         try {
@@ -172,10 +199,10 @@ public class ClientHandler implements Runnable {
             if (socket != null)
                 socket.close();
         } catch (IOException e) {
-            System.err.println("리소스 정리 오류: " + e.getMessage());
+            AsyncLogger.warn("리소스 정리 오류: {}", e.getMessage());
         }
 
-        System.out.println("클라이언트 연결 해제: " + clientId);
+        AsyncLogger.info("클라이언트 연결 해제: {}", clientId);
     }
 
     /**
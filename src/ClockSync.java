@@ -0,0 +1,95 @@
+/**
+ * PING/PONG 으로 상대 시계와의 차이(offset)와 왕복 시간(RTT)을 추정 (NTP 방식)
+ * - 요청 측: PING:t0 전송 (t0 = 내 시각)
+ * - 응답 측: PONG:t0:t1:t2 (t1 = 받은 시각, t2 = 보낸 시각, 응답 측 시계)
+ * - 요청 측이 t3 에 받으면 offset = ((t1 - t0) + (t2 - t3)) / 2, rtt = (t3 - t0) - (t2 - t1)
+ * offset 은 최근 WINDOW 개 샘플 중 RTT 가 가장 작은 것 사용 (큐잉 지연이 가장 적게 섞인 샘플)
+ * RTT 는 지수 평균 (랙 보정/표시용)
+ * 시각은 모두 System.currentTimeMillis() 기준 ms. 여러 스레드에서 호출 가능
+ */
+public class ClockSync {
+    private static final int WINDOW = 8;
+
+    private final long[] rtts = new long[WINDOW];
+    private final long[] offsets = new long[WINDOW];
+    private int count = 0, next = 0;
+    private long lastRttMs = -1;
+    private double smoothedRttMs = -1;
+
+    /**
+     * PING:t0 에 대한 응답 문자열 (t1 = 받은 시각)
+     */
+    public static String pong(String t0, long receivedMs) {
+        return "PONG:" + t0 + ":" + receivedMs + ":" + System.currentTimeMillis();
+    }
+
+    /**
+     * PONG 본문(t0:t1:t2) 처리. t1/t2 가 없는 옛 형식(t0만)은 RTT만 기록. 기록한 RTT, 형식 오류면 -1
+     */
+    public long onPong(String body, long receivedMs) {
+        try {
+            String[] t = body.split(":");
+            long t0 = Long.parseLong(t[0]);
+            if (t.length < 3) {
+                long rtt = receivedMs - t0;
+                recordRtt(rtt);
+                return rtt;
+            }
+            return addSample(t0, Long.parseLong(t[1]), Long.parseLong(t[2]), receivedMs);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public synchronized long addSample(long t0, long t1, long t2, long t3) {
+        long rtt = Math.max(0, (t3 - t0) - (t2 - t1));
+        rtts[next] = rtt;
+        offsets[next] = ((t1 - t0) + (t2 - t3)) / 2;
+        next = (next + 1) % WINDOW;
+        if (count < WINDOW)
+            count++;
+        recordRtt(rtt);
+        return rtt;
+    }
+
+    private synchronized void recordRtt(long rtt) {
+        lastRttMs = rtt;
+        smoothedRttMs = smoothedRttMs < 0 ? rtt : smoothedRttMs * 0.875 + rtt * 0.125;
+    }
+
+    public synchronized boolean hasSample() {
+        return smoothedRttMs >= 0;
+    }
+
+    /**
+     * 상대 시계 - 내 시계 (ms). 샘플이 없으면 0 (같은 시계로 가정)
+     */
+    public synchronized long offsetMs() {
+        if (count == 0)
+            return 0;
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (rtts[i] < rtts[best])
+                best = i;
+        }
+        return offsets[best];
+    }
+
+    /**
+     * 지수 평균 RTT (ms), 샘플이 없으면 -1
+     */
+    public synchronized long rttMs() {
+        return Math.round(smoothedRttMs);
+    }
+
+    public synchronized long lastRttMs() {
+        return lastRttMs;
+    }
+
+    /**
+     * 상대 시계 기준 시각을 내 시계(System.currentTimeMillis) 기준으로 변환
+     */
+    public long toLocal(long peerMs) {
+        return peerMs - offsetMs();
+    }
+}
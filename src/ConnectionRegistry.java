@@ -0,0 +1,62 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * 연결 목록 - 브로드캐스트는 배열 순회만 하도록 스냅샷 배열을 들고 있음
+ * - 입장/퇴장 때만 배열을 새로 만들어 교체, 순회 쪽은 락/복사 없이 volatile 배열 읽기
+ * - 퇴장은 연결 종료 시점에 remove() 로 바로 반영 (보낼 때마다 끊긴 연결을 걸러내지 않음)
+ * 서버 하나 = 매치 하나라 방 구분 없이 목록 하나만 둠
+ * 반환된 배열은 읽기 전용으로 취급할 것
+ */
+public class ConnectionRegistry<C> {
+    private final IntFunction<C[]> newArray;
+    private final Set<C> members = Collections.newSetFromMap(new IdentityHashMap<>()); // this 로 보호
+    private volatile C[] all;
+
+    public ConnectionRegistry(IntFunction<C[]> newArray) {
+        this.newArray = newArray;
+        this.all = newArray.apply(0);
+    }
+
+    public synchronized void add(C conn) {
+        if (!members.add(conn))
+            return;
+        C[] out = Arrays.copyOf(all, all.length + 1);
+        out[all.length] = conn;
+        all = out;
+    }
+
+    /**
+     * 등록된 연결이면 제거하고 true
+     */
+    public synchronized boolean remove(C conn) {
+        if (!members.remove(conn))
+            return false;
+        C[] out = newArray.apply(all.length - 1);
+        int n = 0;
+        for (C c : all) {
+            if (c != conn)
+                out[n++] = c;
+        }
+        all = out;
+        return true;
+    }
+
+    /**
+     * 전체 연결 스냅샷 (순회용)
+     */
+    public C[] all() {
+        return all;
+    }
+
+    public int size() {
+        return all.length;
+    }
+
+    public boolean isEmpty() {
+        return all.length == 0;
+    }
+}
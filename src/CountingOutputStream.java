@@ -0,0 +1,31 @@
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 쓴 바이트 수를 세는 출력 스트림 (클라이언트별 송신량 측정용)
+ */
+public class CountingOutputStream extends FilterOutputStream {
+    private final LongAdder count = new LongAdder();
+
+    public CountingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count.increment();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len); // FilterOutputStream 기본 구현은 1바이트씩 씀
+        count.add(len);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+}
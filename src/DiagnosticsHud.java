@@ -0,0 +1,194 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 클라이언트 진단 오버레이 (F3) - 끊김이 렌더링 문제인지 네트워크 문제인지 구분용
+ * - 프레임 간격 / paint 시간 백분위, 레이어별 paint 비용
+ * - EDT 지연 (invokeLater 요청 ~ 실행까지)
+ * - 명령별 수신 메시지 수 / 바이트(문자 수 기준) 초당
+ * - PING/PONG 왕복 시간
+ * - 원격 플레이어 보간: 샘플 중 언더런(스냅샷 지연) / 외삽 비율
+ * - 추가 줄 (이미지 캐시 통계 등, 창이 끝날 때 한 번 읽음)
+ * 통계는 1초 창 단위로 모았다가 창이 끝날 때 표시용 문자열로 굳힘
+ * record* 는 어느 스레드에서 불러도 되고, frame* / draw 는 EDT 전용
+ */
+public class DiagnosticsHud {
+    public static final int LAYER_BACKGROUND = 0, LAYER_OBJECTS = 1, LAYER_PLAYERS = 2,
+            LAYER_EFFECTS = 3, LAYER_UI = 4, LAYER_MINIMAP = 5;
+    private static final String[] LAYER_NAMES = {"배경", "오브젝트", "플레이어", "이펙트", "UI", "미니맵"};
+    private static final long WINDOW_NS = 1_000_000_000L;
+    private static final int TOP_COMMANDS = 6;
+
+    // 현재 창 (EDT)
+    private final LatencyHistogram frameIntervalUs = new LatencyHistogram();
+    private final LatencyHistogram paintUs = new LatencyHistogram();
+    private final long[] layerNanos = new long[LAYER_NAMES.length];
+    private int frames = 0;
+    private long interpSamples, interpUnderruns, interpExtrapolations;
+    private long windowStart = System.nanoTime();
+    private long lastFrameStart = 0;
+    private long frameStart, lastMark;
+
+    // 현재 창 (다른 스레드에서 기록)
+    private final LatencyHistogram edtLagUs = new LatencyHistogram();
+    private final LatencyHistogram rttMs = new LatencyHistogram();
+    private final Map<String, LongAdder[]> inbound = new ConcurrentHashMap<>(); // {메시지 수, 바이트}
+    private volatile long lastRttMs = -1;
+
+    private final Supplier<String> extra;
+
+    // 직전 창 결과 (표시용)
+    private List<String> lines = List.of("수집 중...");
+
+    public DiagnosticsHud() {
+        this(null);
+    }
+
+    public DiagnosticsHud(Supplier<String> extra) {
+        this.extra = extra;
+    }
+
+    // ===== 기록 =====
+
+    public void frameStart() {
+        long now = System.nanoTime();
+        if (lastFrameStart != 0)
+            frameIntervalUs.record((now - lastFrameStart) / 1000);
+        lastFrameStart = now;
+        frameStart = now;
+        lastMark = now;
+    }
+
+    /**
+     * 직전 표시 이후 시간을 layer 비용으로 더함
+     */
+    public void layerDone(int layer) {
+        long now = System.nanoTime();
+        layerNanos[layer] += now - lastMark;
+        lastMark = now;
+    }
+
+    public void frameEnd() {
+        long now = System.nanoTime();
+        paintUs.record((now - frameStart) / 1000);
+        frames++;
+        if (now - windowStart >= WINDOW_NS) {
+            roll(now);
+        }
+    }
+
+    /**
+     * 이번 프레임 원격 플레이어 보간 결과 (EDT, updateRenderPositions 에서)
+     */
+    public void recordInterpolation(long samples, long underruns, long extrapolations) {
+        interpSamples += samples;
+        interpUnderruns += underruns;
+        interpExtrapolations += extrapolations;
+    }
+
+    public void recordEdtLag(long nanos) {
+        edtLagUs.record(nanos / 1000);
+    }
+
+    public void recordRtt(long ms) {
+        rttMs.record(ms);
+        lastRttMs = ms;
+    }
+
+    public void recordInbound(String message) {
+        recordInbound(message, message.length() + 1);
+    }
+
+    /**
+     * wireBytes = 실제로 받은 길이 (압축된 Z: 줄이면 압축본 길이, 종류는 푼 메시지 기준)
+     */
+    public void recordInbound(String message, int wireBytes) {
+        int colon = message.indexOf(':');
+        String cmd = colon < 0 ? message : message.substring(0, colon);
+        LongAdder[] c = inbound.computeIfAbsent(cmd, k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+        c[0].increment();
+        c[1].add(wireBytes);
+    }
+
+    // ===== 창 마감 / 그리기 =====
+
+    private void roll(long now) {
+        double secs = (now - windowStart) / 1e9;
+        List<String> out = new ArrayList<>();
+        out.add(String.format("FPS %.0f  frame(ms) p50 %.1f p99 %.1f max %.1f", frames / secs,
+                frameIntervalUs.percentile(50) / 1000.0, frameIntervalUs.percentile(99) / 1000.0,
+                frameIntervalUs.max() / 1000.0));
+        out.add(String.format("paint(ms) p50 %.2f p99 %.2f max %.2f",
+                paintUs.percentile(50) / 1000.0, paintUs.percentile(99) / 1000.0, paintUs.max() / 1000.0));
+
+        StringBuilder layers = new StringBuilder("layer(ms/frame)");
+        for (int i = 0; i < LAYER_NAMES.length; i++) {
+            layers.append(String.format(" %s %.2f", LAYER_NAMES[i], frames == 0 ? 0 : layerNanos[i] / 1e6 / frames));
+            layerNanos[i] = 0;
+        }
+        out.add(layers.toString());
+
+        out.add(String.format("EDT lag(ms) p50 %.1f p99 %.1f max %.1f", edtLagUs.percentile(50) / 1000.0,
+                edtLagUs.percentile(99) / 1000.0, edtLagUs.max() / 1000.0));
+        out.add(interpSamples == 0 ? "보간 -" : String.format("보간 %.0f/s 언더런 %.1f%% 외삽 %.1f%%",
+                interpSamples / secs, 100.0 * interpUnderruns / interpSamples,
+                100.0 * interpExtrapolations / interpSamples));
+        interpSamples = interpUnderruns = interpExtrapolations = 0;
+        out.add(rttMs.count() == 0 ? "RTT(ms) -"
+                : String.format("RTT(ms) last %d p50 %d max %d", lastRttMs, rttMs.percentile(50), rttMs.max()));
+
+        // 수신량 많은 명령 순
+        List<Map.Entry<String, long[]>> rates = new ArrayList<>();
+        long totalMsgs = 0, totalBytes = 0;
+        for (Map.Entry<String, LongAdder[]> e : inbound.entrySet()) {
+            long m = e.getValue()[0].sumThenReset();
+            long b = e.getValue()[1].sumThenReset();
+            if (m == 0)
+                continue;
+            totalMsgs += m;
+            totalBytes += b;
+            rates.add(Map.entry(e.getKey(), new long[]{m, b}));
+        }
+        rates.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        out.add(String.format("수신 %.0f msg/s %.1f KB/s", totalMsgs / secs, totalBytes / secs / 1024));
+        for (int i = 0; i < Math.min(TOP_COMMANDS, rates.size()); i++) {
+            Map.Entry<String, long[]> e = rates.get(i);
+            out.add(String.format("  %-14s %6.0f/s %7.1f KB/s", e.getKey(),
+                    e.getValue()[0] / secs, e.getValue()[1] / secs / 1024));
+        }
+
+        if (extra != null)
+            out.add(extra.get());
+
+        lines = out;
+        frameIntervalUs.reset();
+        paintUs.reset();
+        edtLagUs.reset();
+        rttMs.reset();
+        frames = 0;
+        windowStart = now;
+    }
+
+    public void draw(Graphics2D g, int x, int y) {
+        g.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        FontMetrics fm = g.getFontMetrics();
+        int lh = fm.getHeight();
+        int w = 0;
+        for (String s : lines)
+            w = Math.max(w, fm.stringWidth(s));
+
+        g.setColor(new Color(0, 0, 0, 170));
+        g.fillRoundRect(x, y, w + 16, lines.size() * lh + 12, 8, 8);
+        g.setColor(new Color(140, 255, 160));
+        int ty = y + 6 + fm.getAscent();
+        for (String s : lines) {
+            g.drawString(s, x + 8, ty);
+            ty += lh;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서버 엔티티(플레이어/맵 오브젝트) 열 저장소 (struct-of-arrays)
+ * - 엔티티 = int 핸들(행 번호), 위치/반경/HP/플래그는 기본형 배열 열
+ * - 문자열 id 는 프로토콜 경계(메시지 인코딩, id -> 핸들 조회)에서만 사용
+ * - 판정/인코딩은 0 ~ limit() 구간 선형 스캔 (flags == 0 인 빈 행은 건너뜀)
+ * - 삭제된 행은 재사용 목록에 넣어 다음 add 에서 다시 씀 (핸들은 삭제 전까지 고정)
+ * 게임 스레드 전용이라 동기화하지 않음
+ */
+public class EntityTable {
+    public static final int FLAG_USED = 1;
+    public static final int FLAG_PLAYER = 2;
+    public static final int FLAG_OBJECT = 4;
+    public static final int FLAG_ALIVE = 8;
+    public static final int FLAG_SEEKER = 16;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    public double[] x = new double[INITIAL_CAPACITY];
+    public double[] y = new double[INITIAL_CAPACITY];
+    public double[] radius = new double[INITIAL_CAPACITY];
+    public int[] hp = new int[INITIAL_CAPACITY];
+    public int[] flags = new int[INITIAL_CAPACITY];
+    public int[] type = new int[INITIAL_CAPACITY]; // 오브젝트 종류 ObjectTypes id (플레이어는 NONE)
+    public String[] id = new String[INITIAL_CAPACITY];
+    public int[] mapIndex = new int[INITIAL_CAPACITY];   // MapGenerator 배치 번호 (플레이어는 -1)
+
+    private final Map<String, Integer> handles = new HashMap<>();
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int limit = 0; // 사용한 적 있는 행 수 (스캔 상한)
+    private int size = 0;
+
+    /**
+     * 새 엔티티 추가 후 핸들 반환. 같은 id 가 있으면 그 행을 덮어씀
+     */
+    public int add(String entityId, int entityFlags, double ex, double ey, double r) {
+        Integer existing = handles.get(entityId);
+        int h;
+        if (existing != null) {
+            h = existing;
+        } else {
+            h = freeCount > 0 ? free[--freeCount] : limit++;
+            if (h >= flags.length)
+                grow();
+            handles.put(entityId, h);
+            size++;
+        }
+        id[h] = entityId;
+        flags[h] = entityFlags | FLAG_USED;
+        x[h] = ex;
+        y[h] = ey;
+        radius[h] = r;
+        hp[h] = 100;
+        type[h] = ObjectTypes.NONE;
+        mapIndex[h] = -1;
+        return h;
+    }
+
+    /**
+     * 맵 오브젝트 추가 (index = MapGenerator 배치 번호, id 는 OBJ_번호, type = ObjectTypes id)
+     */
+    public int addObject(int index, int objectType, double ex, double ey, double r) {
+        int h = add("OBJ_" + index, FLAG_OBJECT, ex, ey, r);
+        type[h] = objectType;
+        mapIndex[h] = index;
+        return h;
+    }
+
+    public void remove(int h) {
+        if (h < 0 || h >= limit || flags[h] == 0)
+            return;
+        handles.remove(id[h]);
+        flags[h] = 0;
+        id[h] = null;
+        type[h] = ObjectTypes.NONE;
+        if (freeCount == free.length)
+            free = Arrays.copyOf(free, free.length * 2);
+        free[freeCount++] = h;
+        size--;
+    }
+
+    /**
+     * mask 플래그를 가진 행 전부 삭제 (예: 매치마다 맵 오브젝트 교체)
+     */
+    public void removeAll(int mask) {
+        for (int h = 0; h < limit; h++) {
+            if ((flags[h] & mask) != 0)
+                remove(h);
+        }
+    }
+
+    /**
+     * id -> 핸들, 없으면 -1
+     */
+    public int handle(String entityId) {
+        Integer h = handles.get(entityId);
+        return h == null ? -1 : h;
+    }
+
+    public boolean has(int h, int flag) {
+        return (flags[h] & flag) != 0;
+    }
+
+    public void set(int h, int flag, boolean on) {
+        flags[h] = on ? flags[h] | flag : flags[h] & ~flag;
+    }
+
+    /**
+     * mask 플래그를 모두 가진 행 수
+     */
+    public int count(int mask) {
+        int n = 0;
+        for (int h = 0; h < limit; h++) {
+            if ((flags[h] & mask) == mask)
+                n++;
+        }
+        return n;
+    }
+
+    /**
+     * 스캔 상한 (for (h = 0; h < limit(); h++) 에서 flags[h] 확인)
+     */
+    public int limit() {
+        return limit;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        int cap = flags.length * 2;
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        radius = Arrays.copyOf(radius, cap);
+        hp = Arrays.copyOf(hp, cap);
+        flags = Arrays.copyOf(flags, cap);
+        type = Arrays.copyOf(type, cap);
+        id = Arrays.copyOf(id, cap);
+        mapIndex = Arrays.copyOf(mapIndex, cap);
+    }
+}
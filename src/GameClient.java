@@ -7,6 +7,7 @@ import java.io.*;
 import java.net.Socket;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -28,14 +29,33 @@ public class GameClient extends JFrame {
         int hp = 100;
         boolean isSeeker = false, alive = true;
         double x = 120, y = 120;
-        String disguise;
+        double rx, ry; // 렌더링 위치 (원격 플레이어는 스냅샷 보간 결과)
+        int disguise = ObjectTypes.NONE; // ObjectTypes id
+    }
+
+    /**
+     * 서버 ack 전까지 보관하는 내 예측 위치
+     * (seq = 입력 상태 번호, step = 그 입력으로 몇 번째 이동했는지, step 0 = 입력이 바뀐 시점)
+     */
+    static class PredictedStep {
+        final int seq, step;
+        double x, y;
+        final long timeMs; // step 0이면 INPUT 전송 시각 (RTT 측정용)
+
+        PredictedStep(int seq, int step, double x, double y, long timeMs) {
+            this.seq = seq;
+            this.step = step;
+            this.x = x;
+            this.y = y;
+            this.timeMs = timeMs;
+        }
     }
 
     static class ObjectInfo {
-        String type;
+        int type; // ObjectTypes id
         double x, y;
 
-        ObjectInfo(String t, double x, double y) {
+        ObjectInfo(int t, double x, double y) {
             this.type = t;
             this.x = x;
             this.y = y;
@@ -48,6 +68,20 @@ public class GameClient extends JFrame {
     private BufferedReader in;
     private String serverHost = "localhost";
     private int serverPort = 12345;
+    // JOIN 때 한 줄 압축(MessageDeflate) 지원을 알림 (-Ddeflate=false 로 끔)
+    private static final boolean DEFLATE = Boolean.parseBoolean(System.getProperty("deflate", "true"));
+
+    // UDP 상태 채널 (서버 UDP_OFFER 시 연결, -Dudp=false 로 끔)
+    private static final int UDP_HELLO_RETRIES = 5;
+    private UdpStateChannel udp;
+    private boolean udpReady = false;
+
+    // 진단 오버레이 (F3)
+    private static final long PING_INTERVAL_MS = 1000;
+    private static final long EDT_PROBE_INTERVAL_MS = 200;
+    private static final int SYNC_BURST = 4; // 접속 직후 시계 차이를 빨리 잡기 위한 연속 PING 수
+    private final DiagnosticsHud hud = new DiagnosticsHud(ImageManager.getInstance()::statsLine);
+    private boolean hudVisible = false;
 
     // GUI
     private GamePanel gamePanel;
@@ -76,13 +110,17 @@ public class GameClient extends JFrame {
 
     // 월드/카메라
     private final int worldW = 2000, worldH = 1200;
-    private double camX = 0, camY = 0;
+    private double camX = 0, camY = 0; // 화면 왼쪽 위의 월드 좌표
+    private double spectatorZoom = 1.0; // 관전(죽은 뒤) 줌, 살아있을 때는 항상 1:1
+    private static final double ZOOM_STEP = 1.25;
 
     // 게임 데이터
     private final Map<String, PlayerData> players = new ConcurrentHashMap<>();
     private final Map<String, ObjectInfo> objects = new ConcurrentHashMap<>();
+    // 이번 매치 맵 (인덱스 = MapGenerator 배치 번호, GAME_STATE 는 이 번호로 오브젝트를 가리킴)
     private final List<ObjectInfo> initialMapObjects = new ArrayList<>();
-    private final Map<String, Image> imageCache = new HashMap<>();
+    private final Map<String, SnapshotBuffer> remoteSnapshots = new ConcurrentHashMap<>();
+    private final double[] sampleOut = new double[2];
 
     // 입력/이동
     private boolean kUp, kDown, kLeft, kRight;
@@ -90,9 +128,26 @@ public class GameClient extends JFrame {
     // 속도는 플레이어 타입에 따라 동적으로 결정됨
     private int mouseX = -1, mouseY = -1; // 화면 기준 마우스 좌표
 
+    // 입력 상태 전송: 바뀔 때만 + 하트비트 (INPUT:mask:faceX:faceY:seq)
+    private static final int INPUT_UP = 1, INPUT_DOWN = 2, INPUT_LEFT = 4, INPUT_RIGHT = 8;
+    private static final long INPUT_HEARTBEAT_MS = 250;
+    private int inputSeq = 0;
+    private int sentInputMask = -1; // -1이면 다음 프레임에 새 seq로 강제 전송
+    private int inputStep = 0;
+    private long lastInputSentMs = 0;
+
+    // 클라이언트 예측: 서버가 아직 ack하지 않은 예측 위치들
+    private final Deque<PredictedStep> predictedSteps = new ArrayDeque<>();
+    private static final int MAX_PREDICTED_STEPS = 240; // ack 없는 서버 대비 상한(약 4초)
+    private double smoothedRttMs = 0; // INPUT ack 왕복 시간 (지수 평균), 사격 랙 보정에 사용
+    // 서버 시계와의 차이/RTT (PING/PONG), 서버가 보낸 이벤트 시각을 내 시각으로 바꿀 때 사용
+    private final ClockSync clock = new ClockSync();
+
     // 새로운 기능들
     private int countdownSeconds = 0;
     private boolean showCountdown = false;
+    private long hidingEndsAtMs = 0; // PLAYING 전환 시각 (내 시계, 서버 시각에서 변환)
+    private javax.swing.Timer hidingCountdownTimer;
     // private long gameStartTime = 0; // HIDING 구간 고정 처리로 미사용
     // 수동 변장 변경 기능 제거에 따라 미사용 필드 정리
 
@@ -110,7 +165,7 @@ public class GameClient extends JFrame {
 
     // 변장 주기 카운트다운/스냅샷
     private long lastDisguiseChangeMs = 0L;
-    private final Map<String, String> lastDisguiseMap = new HashMap<>();
+    private final Map<String, Integer> lastDisguiseMap = new HashMap<>();
     private javax.swing.Timer uiRefreshTimer;
 
     public static void main(String[] args) {
@@ -119,9 +174,8 @@ public class GameClient extends JFrame {
 
     public GameClient() {
         setupGUI();
-        // ImageManager를 통해 기본 테마 이미지 로드
-        ImageManager.getInstance().loadAllImages();
-        loadImagesFromManager();
+        // ImageManager를 통해 기본 테마 이미지 로드 (백그라운드 디코딩, 끝나면 EDT 에서 적용)
+        loadThemeImages(currentTheme);
         connect();
         setupInput();
         startMoveLoop();
@@ -147,6 +201,8 @@ public class GameClient extends JFrame {
                 updateCursor();
             }
         });
+        // 관전 중 휠 = 커서 위치 기준 줌
+        gamePanel.addMouseWheelListener(e -> zoomAt(Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()), e.getX(), e.getY()));
     }
 
     private void updateCursor() {
@@ -703,6 +759,22 @@ public class GameClient extends JFrame {
         }
 
         updateMapStatusDisplay();
+        prefetchLeadingTheme();
+    }
+
+    /**
+     * 투표 1위 테마(동률이면 전부)를 미리 디코딩 - 서버도 최다 득표 맵으로 시작하므로 GAME_START 때 바로 전환
+     */
+    private void prefetchLeadingTheme() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String map : playerMapSelections.values())
+            counts.merge(map, 1, Integer::sum);
+        int best = counts.values().stream().max(Integer::compare).orElse(0);
+        ImageManager imgMgr = ImageManager.getInstance();
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (e.getValue() == best)
+                imgMgr.prefetch(ObjectTypes.folder(e.getKey().toUpperCase()));
+        }
     }
 
     /**
@@ -731,14 +803,18 @@ public class GameClient extends JFrame {
     }
 
     /**
-     * 5초 카운트다운 시작
+     * 게임 시작 시각(내 시계)까지 카운트다운. 남은 초는 매번 마감 시각에서 다시 계산해서
+     * 타이머가 밀려도 오차가 쌓이지 않음
      */
-    private void startReadyCountdown() {
-        javax.swing.Timer countdownTimer = new javax.swing.Timer(1000, null);
+    private void startReadyCountdown(long startsAtMs) {
+        javax.swing.Timer countdownTimer = new javax.swing.Timer(200, null);
         countdownTimer.addActionListener(e -> {
-            readyCountdown--;
-            if (readyCountdown > 0) {
-                statusLabel.setText("🎮 게임 시작까지 " + readyCountdown + "초...");
+            int remain = secondsUntil(startsAtMs);
+            if (remain > 0) {
+                if (remain != readyCountdown) {
+                    readyCountdown = remain;
+                    statusLabel.setText("🎮 게임 시작까지 " + readyCountdown + "초...");
+                }
             } else {
                 ((javax.swing.Timer) e.getSource()).stop();
                 // 맵 선택 패널에서 게임 패널로 전환
@@ -746,10 +822,18 @@ public class GameClient extends JFrame {
             }
         });
 
-        readyCountdown = 5;
+        readyCountdown = secondsUntil(startsAtMs);
         countdownTimer.start();
     }
 
+    /**
+     * 내 시계 기준 마감 시각까지 남은 초 (올림)
+     */
+    private static int secondsUntil(long deadlineMs) {
+        long left = deadlineMs - System.currentTimeMillis();
+        return left <= 0 ? 0 : (int) ((left + 999) / 1000);
+    }
+
     /**
      * 게임 패널로 전환
      */
@@ -1108,6 +1192,9 @@ public class GameClient extends JFrame {
         players.clear();
         objects.clear();
         initialMapObjects.clear();
+        predictedSteps.clear();
+        sentInputMask = -1;
+        remoteSnapshots.clear();
 
         // UI 초기화
         statusLabel.setText("🌙 숨을 장소를 선택하세요...");
@@ -1163,13 +1250,16 @@ public class GameClient extends JFrame {
             socket = new Socket(serverHost, serverPort);
             out = new PrintWriter(socket.getOutputStream(), true);
             in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out.println("JOIN:" + myName);
+            out.println("JOIN:" + myName + (DEFLATE ? ":" + MessageDeflate.CAP : ""));
 
             new Thread(() -> {
                 try {
                     String m;
                     while ((m = in.readLine()) != null) {
-                        String mm = m;
+                        String mm = MessageDeflate.isDeflated(m) ? MessageDeflate.inflate(m) : m;
+                        hud.recordInbound(mm, m.length() + 1);
+                        if (handleClockMessage(mm))
+                            continue; // 시각 측정은 EDT 대기 시간이 섞이지 않도록 수신 스레드에서 바로 처리
                         SwingUtilities.invokeLater(() -> process(mm));
                     }
                 } catch (IOException ex) {
@@ -1178,6 +1268,7 @@ public class GameClient extends JFrame {
                                 () -> JOptionPane.showMessageDialog(this, "서버 연결 종료", "오류", JOptionPane.ERROR_MESSAGE));
                 }
             }).start();
+            startDiagnostics();
 
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "서버 연결 실패", "오류", JOptionPane.ERROR_MESSAGE);
@@ -1185,6 +1276,91 @@ public class GameClient extends JFrame {
         }
     }
 
+    /**
+     * PING/PONG 처리 (수신 스레드). 처리했으면 true
+     * - 서버 PING:t0 -> PONG:t0:t1:t2 로 응답 (서버가 연결별 RTT 측정)
+     * - 내 PING 의 PONG:t0:t1:t2 -> 서버 시계 차이/RTT 갱신
+     */
+    private boolean handleClockMessage(String message) {
+        long now = System.currentTimeMillis();
+        if (message.startsWith("PING:")) {
+            PrintWriter w = out;
+            if (w != null)
+                w.println(ClockSync.pong(message.substring(5), now));
+            return true;
+        }
+        if (message.startsWith("PONG:")) {
+            long rtt = clock.onPong(message.substring(5), now);
+            if (rtt >= 0)
+                hud.recordRtt(rtt);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 서버 시계 기준 시각(ms)을 내 시계 기준으로
+     */
+    private long serverToLocal(long serverMs) {
+        return clock.toLocal(serverMs);
+    }
+
+    /**
+     * 진단용 주기 작업: PING 전송(RTT/시계 동기화), EDT 지연 측정(invokeLater 요청 ~ 실행)
+     */
+    private void startDiagnostics() {
+        java.util.concurrent.ScheduledExecutorService diag = java.util.concurrent.Executors
+                .newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "client-diag");
+                    t.setDaemon(true);
+                    return t;
+                });
+        Runnable ping = () -> {
+            if (out != null)
+                out.println("PING:" + System.currentTimeMillis());
+        };
+        for (int i = 0; i < SYNC_BURST; i++) {
+            diag.schedule(ping, i * 200L, java.util.concurrent.TimeUnit.MILLISECONDS);
+        }
+        diag.scheduleAtFixedRate(ping, PING_INTERVAL_MS, PING_INTERVAL_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
+        diag.scheduleAtFixedRate(() -> {
+            long posted = System.nanoTime();
+            SwingUtilities.invokeLater(() -> hud.recordEdtLag(System.nanoTime() - posted));
+        }, EDT_PROBE_INTERVAL_MS, EDT_PROBE_INTERVAL_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * UDP 상태 채널 연결 후 HELLO:token 전송 (UDP_READY가 올 때까지 몇 번 재전송)
+     * 위치 메시지는 TCP와 같은 process()로 들어가며, 실패하면 TCP만으로 계속 동작
+     */
+    private void startUdp(int port, String token) {
+        if (udp != null || !Boolean.parseBoolean(System.getProperty("udp", "true")))
+            return;
+        try {
+            udp = UdpStateChannel.connect(serverHost, port);
+        } catch (IOException e) {
+            System.out.println("[CLIENT] UDP 연결 실패, TCP만 사용: " + e.getMessage());
+            return;
+        }
+        udp.startReceiving((from, line) -> {
+            hud.recordInbound(line);
+            SwingUtilities.invokeLater(() -> process(line));
+        });
+
+        String hello = UdpStateChannel.HELLO + ":" + token;
+        udp.send(hello);
+        int[] tries = {1};
+        javax.swing.Timer retry = new javax.swing.Timer(200, null);
+        retry.addActionListener(e -> {
+            if (udpReady || tries[0]++ >= UDP_HELLO_RETRIES) {
+                retry.stop();
+                return;
+            }
+            udp.send(hello);
+        });
+        retry.start();
+    }
+
     // ===== 커스텀 닉네임 입력 다이얼로그 =====
     private String showNameDialog() {
         final JDialog dialog = new JDialog(this, "FM", true);
@@ -1247,7 +1423,7 @@ public class GameClient extends JFrame {
                 }
 
                 // 술래(Tagger) 이미지 - 오른쪽 상단
-                Image seeker = imageCache.get("SEEKER");
+                Image seeker = ImageManager.getInstance().getImage("SEEKER");
                 if (seeker != null) {
                     g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.85f));
                     g2.drawImage(seeker, getWidth() - 180, 15, 160, 200, null);
@@ -1610,6 +1786,10 @@ public class GameClient extends JFrame {
         String[] p = message.split(":", 2);
         String cmd = p[0];
         switch (cmd) {
+            case "CAPS" -> {
+                // CAPS:기능 - 서버가 받아들인 기능 (이후 Z: 줄이 올 수 있음, 풀기는 수신 스레드에서)
+                System.out.println("[CLIENT] 서버 지원 기능: " + p[1]);
+            }
             case "JOINED" -> {
                 myClientId = p[1];
                 setTitle("FM - " + myName + " (ID: " + myClientId + ")");
@@ -1618,6 +1798,16 @@ public class GameClient extends JFrame {
                 me.name = myName;
                 players.put(myClientId, me);
             }
+            case "UDP_OFFER" -> {
+                // UDP_OFFER:port:token
+                String[] d = p[1].split(":");
+                if (d.length >= 2)
+                    startUdp(Integer.parseInt(d[0]), d[1]);
+            }
+            case "UDP_READY" -> {
+                udpReady = true;
+                System.out.println("[CLIENT] UDP 상태 채널 사용");
+            }
             case "PLAYER_LIST" -> {
                 playerListArea.setText("👥 접속 클라이언트:\n");
                 if (p.length > 1 && !p[1].isEmpty()) {
@@ -1632,10 +1822,11 @@ public class GameClient extends JFrame {
                 updateMapSelections(message);
             }
             case "ALL_SELECTED" -> {
-                // 모든 플레이어가 선택 완료
+                // ALL_SELECTED[:게임 시작 시각(서버 시계)] - 모든 플레이어가 선택 완료
                 allPlayersSelected = true;
-                statusLabel.setText("🎮 모든 플레이어 선택 완료! 5초 후 게임 시작...");
-                startReadyCountdown();
+                long startsAt = p.length > 1 ? serverToLocal(Long.parseLong(p[1])) : System.currentTimeMillis() + 5000;
+                statusLabel.setText("🎮 모든 플레이어 선택 완료! " + secondsUntil(startsAt) + "초 후 게임 시작...");
+                startReadyCountdown(startsAt);
             }
             case "READY_COUNTDOWN" -> {
                 // READY_COUNTDOWN:3
@@ -1658,6 +1849,7 @@ public class GameClient extends JFrame {
                 }
                 isSeeker = myClientId != null && myClientId.equals(seeker);
                 isAlive = true;
+                spectatorZoom = 1.0;
                 currentState = GameState.HIDING;
 
                 PlayerData me = players.computeIfAbsent(myClientId, id -> new PlayerData());
@@ -1671,32 +1863,54 @@ public class GameClient extends JFrame {
 
                 // 게임 시작 시간 기록 제거 (술래는 HIDING 동안 이동 불가 정책)
 
-                // 모든 플레이어에게 카운트다운 표시
-                countdownSeconds = 20;
+                // 모든 플레이어에게 카운트다운 표시 (GAME_START 의 5번째 필드 = PLAYING 전환 서버 시각)
+                hidingEndsAtMs = a.length > 4 ? serverToLocal(Long.parseLong(a[4]))
+                        : System.currentTimeMillis() + 20000;
+                countdownSeconds = secondsUntil(hidingEndsAtMs);
                 showCountdown = true;
                 startCountdownTimer();
 
                 if (isSeeker) {
-                    statusLabel.setText("🔴 술래 - 20초 후 시작!");
+                    statusLabel.setText("🔴 술래 - " + countdownSeconds + "초 후 시작!");
                     showRoleDialog(true);
                 } else {
-                    statusLabel.setText("🟦 숨는 사람 - 20초 안에 숨기!");
+                    statusLabel.setText("🟦 숨는 사람 - " + countdownSeconds + "초 안에 숨기!");
                     showRoleDialog(false);
                 }
                 startBtn.setEnabled(false);
             }
+            case "MAP_SEED" -> {
+                // MAP_SEED:테마:시드:생성기버전 - 버전이 같으면 직접 생성, 다르면 전체 좌표 요청
+                String[] a = message.split(":");
+                if (a.length > 3 && Integer.parseInt(a[3]) == MapGenerator.VERSION) {
+                    List<ObjectInfo> generated = new ArrayList<>();
+                    for (MapGenerator.Placement o : MapGenerator.generate(a[1], Long.parseLong(a[2])))
+                        generated.add(new ObjectInfo(o.type, o.x, o.y));
+                    setMapObjects(generated);
+                    System.out.println("[CLIENT] MAP_SEED " + a[1] + " seed=" + a[2] + " -> " + generated.size());
+                } else {
+                    initialMapObjects.clear();
+                    out.println("MAP_REQUEST");
+                    System.out.println("[CLIENT] MAP_SEED 생성기 버전 불일치 (" + (a.length > 3 ? a[3] : "?")
+                            + " != " + MapGenerator.VERSION + "), INITIAL_MAP 요청");
+                }
+            }
             case "INITIAL_MAP" -> {
-                initialMapObjects.clear();
+                // MAP_REQUEST 응답: OBJ_번호,type,x,y;... (번호 순서가 아닐 수 있음)
+                List<ObjectInfo> loaded = new ArrayList<>();
                 if (p.length > 1) {
-                    String[] arr = p[1].split(";");
-                    for (String s : arr) {
+                    for (String s : p[1].split(";")) {
                         if (s.isEmpty())
                             continue;
                         String[] info = s.split(",");
-                        initialMapObjects.add(new ObjectInfo(info[1],
+                        int index = Integer.parseInt(info[0].substring(info[0].lastIndexOf('_') + 1));
+                        while (loaded.size() <= index)
+                            loaded.add(null);
+                        loaded.set(index, new ObjectInfo(Integer.parseInt(info[1]),
                                 Double.parseDouble(info[2]), Double.parseDouble(info[3])));
                     }
                 }
+                setMapObjects(loaded);
                 System.out.println("[CLIENT] INITIAL_MAP loaded: " + initialMapObjects.size());
             }
             case "ROLE" -> {
@@ -1716,18 +1930,21 @@ public class GameClient extends JFrame {
                     me.isSeeker = false;
                     me.alive = true;
                     if (r.length >= 4) {
-                        me.disguise = r[1];
+                        me.disguise = Integer.parseInt(r[1]);
                         me.x = Double.parseDouble(r[2]);
                         me.y = Double.parseDouble(r[3]);
                     }
                 }
+                // 서버가 위치를 새로 지정했으므로 이전 예측은 폐기하고 새 입력 번호로 다시 시작
+                predictedSteps.clear();
+                sentInputMask = -1;
                 updateCameraToMe();
             }
             case "GAME_PLAYING" -> {
                 currentState = GameState.PLAYING;
                 statusLabel.setText(isSeeker ? "🔫 술래 - 숨은 사람을 찾으세요!" : "🤫 조용히 숨어 있기!");
-                // 변장 사이클 카운트다운 시작
-                lastDisguiseChangeMs = System.currentTimeMillis();
+                // 변장 사이클 카운트다운 시작 (GAME_PLAYING:서버 전환 시각 이 있으면 그 시각 기준)
+                lastDisguiseChangeMs = p.length > 1 ? serverToLocal(Long.parseLong(p[1])) : System.currentTimeMillis();
                 lastDisguiseMap.clear();
                 for (PlayerData pd : players.values())
                     if (!pd.isSeeker)
@@ -1775,6 +1992,7 @@ public class GameClient extends JFrame {
             case "SEEKER_DIED" -> chatArea.append("🎉 술래의 HP가 0이 되었습니다!\n");
             case "GAME_END" -> {
                 currentState = GameState.ENDED;
+                logInterpolationStats();
                 String r = p[1];
                 if (r.startsWith("SEEKER_WIN")) {
                     // GAME_END:SEEKER_WIN:술래이름
@@ -1803,54 +2021,61 @@ public class GameClient extends JFrame {
         gamePanel.repaint();
     }
 
+    /**
+     * 이번 매치 맵 교체 (HIDING 에서 그리는 목록 + 다음 GAME_STATE 전까지 쓸 오브젝트)
+     */
+    private void setMapObjects(List<ObjectInfo> map) {
+        initialMapObjects.clear();
+        initialMapObjects.addAll(map);
+        objects.clear();
+        for (int i = 0; i < map.size(); i++) {
+            if (map.get(i) != null)
+                objects.put("OBJ_" + i, map.get(i));
+        }
+    }
+
     private void parseGameState(String msg) {
-        String[] a = msg.split(":", 4);
-        if (a.length < 4)
+        List<PlayerData> decodedPlayers = new ArrayList<>();
+        Map<String, ObjectInfo> decodedObjects = new LinkedHashMap<>();
+        GameState state = decodeGameState(msg, decodedPlayers, decodedObjects, initialMapObjects);
+        if (state == null)
             return;
-        currentState = GameState.valueOf(a[1]);
+        currentState = state;
 
         // 이전 변장 상태 보관
-        Map<String, String> prevDisguise = new HashMap<>(lastDisguiseMap);
+        Map<String, Integer> prevDisguise = new HashMap<>(lastDisguiseMap);
+
+        // 미확인 입력이 있으면 내 예측 위치는 유지 (PLAYER_MOVE ack에서 보정)
+        PlayerData predictedMe = predictedSteps.isEmpty() || myClientId == null ? null : players.get(myClientId);
 
         players.clear();
         objects.clear();
-        for (String s : a[2].split(";")) {
-            if (s.isEmpty())
-                continue;
-            String[] d = s.split(",");
-            PlayerData p = new PlayerData();
-            p.id = d[0];
-            p.name = d[1];
-            p.isSeeker = Boolean.parseBoolean(d[2]);
-            p.alive = Boolean.parseBoolean(d[3]);
-            p.hp = Integer.parseInt(d[4]);
-            p.x = Double.parseDouble(d[5]);
-            p.y = Double.parseDouble(d[6]);
-            p.disguise = d[7].equals("NONE") ? null : d[7];
+        for (PlayerData p : decodedPlayers) {
             players.put(p.id, p);
             if (myClientId != null && p.id.equals(myClientId)) {
                 isSeeker = p.isSeeker;
                 isAlive = p.alive;
+                if (predictedMe != null && p.alive) {
+                    p.x = predictedMe.x;
+                    p.y = predictedMe.y;
+                }
+            } else {
+                recordRemoteSnapshot(p.id, p.x, p.y);
             }
             if (!p.isSeeker) {
                 lastDisguiseMap.put(p.id, p.disguise);
             }
         }
-        for (String s : a[3].split(";")) {
-            if (s.isEmpty())
-                continue;
-            String[] d = s.split(",");
-            objects.put(d[0], new ObjectInfo(d[1], Double.parseDouble(d[2]), Double.parseDouble(d[3])));
-        }
+        objects.putAll(decodedObjects);
         updateCameraToMe();
 
         // 변장 변경 감지 후 카운트다운 리셋
         if (currentState == GameState.PLAYING) {
             boolean changed = false;
-            for (Map.Entry<String, String> e : lastDisguiseMap.entrySet()) {
+            for (Map.Entry<String, Integer> e : lastDisguiseMap.entrySet()) {
                 String id = e.getKey();
-                String cur = e.getValue();
-                String prev = prevDisguise.get(id);
+                Integer cur = e.getValue();
+                Integer prev = prevDisguise.get(id);
                 if (!Objects.equals(cur, prev)) {
                     changed = true;
                     break;
@@ -1861,17 +2086,193 @@ public class GameClient extends JFrame {
         }
     }
 
+    /**
+     * GAME_STATE:상태:플레이어;...:오브젝트 번호 구간;... 디코딩 (UI 상태는 건드리지 않음)
+     * 오브젝트 위치는 map(인덱스 = 배치 번호)에서 찾음, 맵에 없는 번호는 건너뜀
+     * 옛 형식(id,type,x,y)도 그대로 받음. 형식이 맞지 않으면 null
+     */
+    static GameState decodeGameState(String msg, List<PlayerData> outPlayers, Map<String, ObjectInfo> outObjects,
+                                     List<ObjectInfo> map) {
+        String[] a = msg.split(":", 4);
+        if (a.length < 4)
+            return null;
+        GameState state = GameState.valueOf(a[1]);
+
+        for (String s : a[2].split(";")) {
+            if (s.isEmpty())
+                continue;
+            String[] d = s.split(",");
+            PlayerData p = new PlayerData();
+            p.id = d[0];
+            p.name = d[1];
+            p.isSeeker = Boolean.parseBoolean(d[2]);
+            p.alive = Boolean.parseBoolean(d[3]);
+            p.hp = Integer.parseInt(d[4]);
+            p.x = Double.parseDouble(d[5]);
+            p.y = Double.parseDouble(d[6]);
+            p.disguise = Integer.parseInt(d[7]);
+            outPlayers.add(p);
+        }
+        for (String s : a[3].split(";")) {
+            if (s.isEmpty())
+                continue;
+            if (s.indexOf(',') >= 0) {
+                String[] d = s.split(",");
+                outObjects.put(d[0], new ObjectInfo(Integer.parseInt(d[1]), Double.parseDouble(d[2]), Double.parseDouble(d[3])));
+                continue;
+            }
+            int dash = s.indexOf('-');
+            int start = Integer.parseInt(dash < 0 ? s : s.substring(0, dash));
+            int end = dash < 0 ? start : Integer.parseInt(s.substring(dash + 1));
+            for (int i = start; i <= end && i < map.size(); i++) {
+                ObjectInfo o = map.get(i);
+                if (o != null)
+                    outObjects.put("OBJ_" + i, o);
+            }
+        }
+        return state;
+    }
+
     private void updatePlayerPos(String data) {
+        // PLAYER_MOVE:id:x:y[:ackSeq:ackStep] - ack는 내 입력에 대한 에코에만 붙음
         String[] a = data.split(":");
         PlayerData p = players.get(a[0]);
         if (p != null) {
-            p.x = Double.parseDouble(a[1]);
-            p.y = Double.parseDouble(a[2]);
-            if (myClientId != null && p.id.equals(myClientId))
+            double x = Double.parseDouble(a[1]);
+            double y = Double.parseDouble(a[2]);
+            boolean mine = myClientId != null && p.id.equals(myClientId);
+            if (mine && a.length >= 5) {
+                reconcileMyPosition(p, x, y, Integer.parseInt(a[3]), Integer.parseInt(a[4]));
+            } else if (mine && !predictedSteps.isEmpty()) {
+                return; // ack 없는 에코는 예측 중인 위치를 덮어쓰지 않음
+            } else {
+                p.x = x;
+                p.y = y;
+                if (!mine)
+                    recordRemoteSnapshot(p.id, x, y);
+            }
+            if (mine)
                 updateCameraToMe();
         }
     }
 
+    /**
+     * 원격 플레이어 위치를 수신 시각과 함께 스냅샷 버퍼에 기록
+     */
+    private void recordRemoteSnapshot(String id, double x, double y) {
+        remoteSnapshots.computeIfAbsent(id, k -> new SnapshotBuffer()).add(nowMs(), x, y);
+    }
+
+    /**
+     * 렌더링 위치 갱신: 나는 예측 위치 그대로, 원격 플레이어는 INTERP_DELAY_MS 과거 시점 보간
+     */
+    private void updateRenderPositions() {
+        long renderTime = nowMs() - SnapshotBuffer.INTERP_DELAY_MS;
+        long samples = 0, underruns = 0, extrapolations = 0;
+        for (PlayerData p : players.values()) {
+            SnapshotBuffer buf = (p.id == null || p.id.equals(myClientId)) ? null : remoteSnapshots.get(p.id);
+            long u0 = buf == null ? 0 : buf.getUnderruns(), e0 = buf == null ? 0 : buf.getExtrapolations();
+            if (buf != null && buf.sample(renderTime, sampleOut)) {
+                p.rx = sampleOut[0];
+                p.ry = sampleOut[1];
+                samples++;
+                underruns += buf.getUnderruns() - u0;
+                extrapolations += buf.getExtrapolations() - e0;
+            } else {
+                p.rx = p.x;
+                p.ry = p.y;
+            }
+        }
+        hud.recordInterpolation(samples, underruns, extrapolations);
+    }
+
+    /**
+     * 보간 버퍼 통계 로그 (라운드 종료 시)
+     */
+    private void logInterpolationStats() {
+        long samples = 0, underruns = 0, extrapolations = 0;
+        for (SnapshotBuffer buf : remoteSnapshots.values()) {
+            samples += buf.getSamples();
+            underruns += buf.getUnderruns();
+            extrapolations += buf.getExtrapolations();
+        }
+        System.out.println("[CLIENT] interp samples=" + samples + ", underruns=" + underruns
+                + ", extrapolated=" + extrapolations);
+    }
+
+    private static long nowMs() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    /**
+     * 서버 확정 위치와 같은 시점(seq, step)의 내 예측 위치를 비교해서
+     * 그 오차만큼 현재 위치와 아직 ack되지 않은 예측들을 보정 (rubber-banding 방지)
+     */
+    private void reconcileMyPosition(PlayerData me, double serverX, double serverY, int ackSeq, int ackStep) {
+        if (predictedSteps.isEmpty()) {
+            me.x = serverX; // 예측 중이 아니면 서버 위치 그대로
+            me.y = serverY;
+            return;
+        }
+
+        PredictedStep match = null;
+        while (!predictedSteps.isEmpty()) {
+            PredictedStep s = predictedSteps.peekFirst();
+            if (s.seq > ackSeq || (s.seq == ackSeq && s.step > ackStep))
+                break;
+            predictedSteps.pollFirst();
+            if (s.seq == ackSeq)
+                match = s; // 서버가 더 많이 적분했으면 해당 seq의 마지막 예측과 비교
+        }
+        if (match == null)
+            return; // 이미 버려진 오래된 ack
+
+        if (match.step == 0 && ackStep == 0) {
+            long rtt = nowMs() - match.timeMs;
+            smoothedRttMs = smoothedRttMs == 0 ? rtt : smoothedRttMs * 0.875 + rtt * 0.125;
+        }
+
+        double ex = serverX - match.x, ey = serverY - match.y;
+        if (Math.abs(ex) < 0.01 && Math.abs(ey) < 0.01)
+            return;
+        me.x = clamp(me.x + ex, MIN_X, MAX_X);
+        me.y = clamp(me.y + ey, MIN_Y, MAX_Y);
+        for (PredictedStep s : predictedSteps) {
+            s.x = clamp(s.x + ex, MIN_X, MAX_X);
+            s.y = clamp(s.y + ey, MIN_Y, MAX_Y);
+        }
+    }
+
+    /**
+     * 현재 키 상태 비트마스크
+     */
+    private int currentInputMask() {
+        return (kUp ? INPUT_UP : 0) | (kDown ? INPUT_DOWN : 0) | (kLeft ? INPUT_LEFT : 0) | (kRight ? INPUT_RIGHT : 0);
+    }
+
+    /**
+     * 입력 상태가 바뀌었으면 새 seq로, 아니면 하트비트 주기마다 같은 seq로 INPUT 전송
+     */
+    private void sendInputIfNeeded(PlayerData me, int mask) {
+        long now = nowMs();
+        if (mask != sentInputMask) {
+            inputSeq++;
+            inputStep = 0;
+            sentInputMask = mask;
+            predictedSteps.addLast(new PredictedStep(inputSeq, 0, me.x, me.y, now));
+            trimPredictedSteps();
+        } else if (now - lastInputSentMs < INPUT_HEARTBEAT_MS) {
+            return;
+        }
+        lastInputSentMs = now;
+        out.println("INPUT:" + mask + ":" + faceDX + ":" + faceDY + ":" + inputSeq);
+    }
+
+    private void trimPredictedSteps() {
+        while (predictedSteps.size() > MAX_PREDICTED_STEPS)
+            predictedSteps.pollFirst();
+    }
+
     private void sendChat() {
         String m = chatInput.getText().trim();
         if (!m.isEmpty())
@@ -1896,6 +2297,33 @@ public class GameClient extends JFrame {
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_D, 0, false), "D_P");
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_D, 0, true), "D_R");
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_SPACE, 0), "SHOOT");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "TOGGLE_HUD");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_EQUALS, 0), "ZOOM_IN");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ADD, 0), "ZOOM_IN");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_MINUS, 0), "ZOOM_OUT");
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_SUBTRACT, 0), "ZOOM_OUT");
+
+        // 관전 줌 (화면 가운데 기준)
+        am.put("ZOOM_IN", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                zoomAt(ZOOM_STEP, gamePanel.getWidth() / 2.0, gamePanel.getHeight() / 2.0);
+            }
+        });
+        am.put("ZOOM_OUT", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                zoomAt(1 / ZOOM_STEP, gamePanel.getWidth() / 2.0, gamePanel.getHeight() / 2.0);
+            }
+        });
+
+        am.put("TOGGLE_HUD", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                hudVisible = !hudVisible;
+                gamePanel.repaint();
+            }
+        });
 
         am.put("W_P", new AbstractAction() {
             @Override
@@ -1955,8 +2383,8 @@ public class GameClient extends JFrame {
                 if (me == null)
                     return;
                 // 마우스 조준: 화면좌표 -> 월드좌표 변환 후 방향 벡터 계산
-                double mx = mouseX >= 0 ? (mouseX + camX) : (me.x + faceDX);
-                double my = mouseY >= 0 ? (mouseY + camY) : (me.y + faceDY);
+                double mx = mouseX >= 0 ? (mouseX / zoom() + camX) : (me.x + faceDX);
+                double my = mouseY >= 0 ? (mouseY / zoom() + camY) : (me.y + faceDY);
                 double dx = mx - me.x;
                 double dy = my - me.y;
                 double len = Math.hypot(dx, dy);
@@ -1967,7 +2395,9 @@ public class GameClient extends JFrame {
                     dx /= len;
                     dy /= len;
                 }
-                out.println("SHOOT_RAY:" + me.x + ":" + me.y + ":" + dx + ":" + dy);
+                // 화면에 보이는 원격 위치는 RTT + 보간 지연만큼 과거 → 서버가 그만큼 되감아 판정
+                long viewLagMs = Math.round(smoothedRttMs) + SnapshotBuffer.INTERP_DELAY_MS;
+                out.println("SHOOT_RAY:" + me.x + ":" + me.y + ":" + dx + ":" + dy + ":" + viewLagMs);
             }
         });
 
@@ -1985,20 +2415,26 @@ public class GameClient extends JFrame {
             if (me == null)
                 return;
 
-            // 살아있을 때는 기존 플레이어 이동 로직 유지
+            // 살아있을 때: 입력 상태만 서버에 보내고 이동은 로컬에서 예측 (서버가 tick마다 같은 규칙으로 적분)
             if (isAlive) {
-                // 술래는 HIDING 동안(초반 20초) 이동 불가
-                if (isSeeker && currentState == GameState.HIDING) {
-                    return;
-                }
-
                 double dx = (kRight ? 1 : 0) - (kLeft ? 1 : 0);
                 double dy = (kDown ? 1 : 0) - (kUp ? 1 : 0);
                 if (dx != 0 || dy != 0) {
                     double n = Math.hypot(dx, dy);
                     dx /= n;
                     dy /= n;
+                    // 바라보는 방향 갱신
+                    faceDX = dx;
+                    faceDY = dy;
+                }
+                sendInputIfNeeded(me, currentInputMask());
+
+                // 술래는 HIDING 동안(초반 20초) 이동 불가
+                if (isSeeker && currentState == GameState.HIDING) {
+                    return;
+                }
 
+                if (dx != 0 || dy != 0) {
                     // 플레이어 타입에 따른 속도 적용
                     double speed = isSeeker ? SEEKER_MOVE_SPEED : HIDER_MOVE_SPEED;
 
@@ -2008,10 +2444,10 @@ public class GameClient extends JFrame {
 
                     me.x = newX;
                     me.y = newY;
-                    // 바라보는 방향 갱신
-                    faceDX = dx;
-                    faceDY = dy;
-                    out.println("MOVE:" + me.x + ":" + me.y);
+
+                    // 서버 ack 전까지 예측 위치 보관
+                    predictedSteps.addLast(new PredictedStep(inputSeq, ++inputStep, newX, newY, nowMs()));
+                    trimPredictedSteps();
                     updateCameraToMe();
                     gamePanel.repaint();
                 }
@@ -2023,12 +2459,11 @@ public class GameClient extends JFrame {
                     double n = Math.hypot(cdx, cdy);
                     cdx /= n;
                     cdy /= n;
-                    // 관전 카메라 속도 (픽셀/프레임)
-                    double camSpeed = 12.0; // 필요시 조정
-                    double vw = gamePanel.getWidth();
-                    double vh = gamePanel.getHeight();
-                    camX = clamp(camX + cdx * camSpeed, 0, Math.max(0, worldW - vw));
-                    camY = clamp(camY + cdy * camSpeed, 0, Math.max(0, worldH - vh));
+                    // 관전 카메라 속도 (화면 픽셀/프레임, 줌아웃하면 월드에서는 그만큼 빠르게)
+                    double camSpeed = 12.0 / zoom(); // 필요시 조정
+                    camX += cdx * camSpeed;
+                    camY += cdy * camSpeed;
+                    clampCamera();
                     gamePanel.repaint();
                 }
             }
@@ -2036,10 +2471,16 @@ public class GameClient extends JFrame {
     }
 
     // ===== 카운트다운 타이머 =====
+    // hidingEndsAtMs 기준으로 남은 초를 다시 계산 (1초씩 빼지 않으므로 EDT 지연이 누적되지 않음)
     private void startCountdownTimer() {
-        new javax.swing.Timer(1000, e -> {
-            if (countdownSeconds > 0) {
-                countdownSeconds--;
+        if (hidingCountdownTimer != null)
+            hidingCountdownTimer.stop();
+        hidingCountdownTimer = new javax.swing.Timer(200, e -> {
+            int remain = secondsUntil(hidingEndsAtMs);
+            if (remain > 0) {
+                if (remain == countdownSeconds)
+                    return;
+                countdownSeconds = remain;
                 if (isSeeker) {
                     statusLabel.setText("🔴 술래 - " + countdownSeconds + "초 후 시작!");
                 } else {
@@ -2048,6 +2489,7 @@ public class GameClient extends JFrame {
                 gamePanel.repaint();
             } else {
                 ((javax.swing.Timer) e.getSource()).stop();
+                countdownSeconds = 0;
                 showCountdown = false;
                 if (isSeeker) {
                     statusLabel.setText("🔴 술래 - 게임 시작!");
@@ -2057,7 +2499,8 @@ public class GameClient extends JFrame {
                 }
                 gamePanel.repaint();
             }
-        }).start();
+        });
+        hidingCountdownTimer.start();
     }
 
     // ===== 카메라 =====
@@ -2065,98 +2508,86 @@ public class GameClient extends JFrame {
         PlayerData me = players.get(myClientId);
         if (me == null)
             return;
-        double vw = gamePanel.getWidth();
-        double vh = gamePanel.getHeight();
-        camX = clamp(me.x - vw / 2, 0, worldW - vw);
-        camY = clamp(me.y - vh / 2, 0, worldH - vh);
+        camX = me.x - gamePanel.getWidth() / zoom() / 2;
+        camY = me.y - gamePanel.getHeight() / zoom() / 2;
+        clampCamera();
     }
 
-    private static double clamp(double v, double lo, double hi) {
-        return Math.max(lo, Math.min(hi, v));
+    /**
+     * 화면 1px 당 월드 배율 (관전 중에만 1 미만)
+     */
+    private double zoom() {
+        return isAlive ? 1.0 : spectatorZoom;
     }
 
-    // ===== 이미지 로딩 =====
     /**
-     * ImageManager에서 이미지를 로드하여 캐시에 복사
+     * 가장 멀리 줌아웃 = 월드 전체가 화면에 들어오는 배율
      */
-    private void loadImagesFromManager() {
-        ImageManager imgMgr = ImageManager.getInstance();
+    private double minZoom() {
+        double vw = Math.max(1, gamePanel.getWidth()), vh = Math.max(1, gamePanel.getHeight());
+        return Math.min(1.0, Math.min(vw / worldW, vh / worldH));
+    }
+
+    /**
+     * 관전 줌 변경 - 화면 (ax, ay) 아래의 월드 지점이 그대로 있도록 카메라도 옮김
+     */
+    private void zoomAt(double factor, double ax, double ay) {
+        if (isAlive || !(currentState == GameState.HIDING || currentState == GameState.PLAYING))
+            return;
+        double wx = camX + ax / spectatorZoom, wy = camY + ay / spectatorZoom;
+        spectatorZoom = clamp(spectatorZoom * factor, minZoom(), 1.0);
+        camX = wx - ax / spectatorZoom;
+        camY = wy - ay / spectatorZoom;
+        clampCamera();
+        gamePanel.repaint();
+    }
 
-        // 기본 이미지들 복사
-        copyImageFromManager("BG_TILE", imgMgr);
-        copyImageFromManager("SEEKER", imgMgr);
+    /**
+     * 카메라를 월드 안으로 (화면이 월드보다 넓은 축은 가운데 정렬)
+     */
+    private void clampCamera() {
+        double vw = gamePanel.getWidth() / zoom(), vh = gamePanel.getHeight() / zoom();
+        camX = vw >= worldW ? (worldW - vw) / 2 : clamp(camX, 0, worldW - vw);
+        camY = vh >= worldH ? (worldH - vh) / 2 : clamp(camY, 0, worldH - vh);
+    }
 
-        // 현재 테마의 모든 오브젝트 이미지 복사
-        String[] objectTypes = imgMgr.getCurrentThemeObjectTypes();
-        for (String type : objectTypes) {
-            copyImageFromManager(type, imgMgr);
-        }
+    private static double clamp(double v, double lo, double hi) {
+        return Math.max(lo, Math.min(hi, v));
     }
 
+    // ===== 이미지 로딩 =====
     /**
-     * 테마별 이미지 로드
+     * 테마별 이미지 로드 - 이미 디코딩된 테마(미리 읽기/이전 라운드)면 바로 교체,
+     * 아니면 백그라운드 디코딩이 끝난 뒤 EDT 에서 교체 (그동안은 이전 이미지/폴백 도형)
      */
     private void loadThemeImages(String theme) {
         // 테마명 변환 (서버에서 오는 테마명을 폴더명으로 매핑)
-        String folderName = switch (theme.toUpperCase()) {
-            case "CITY" -> "City";
-            case "CONSTRUCTION" -> "Construction_site";
-            case "SCHOOL" -> "School";
-            default -> "School";
-        };
+        String folderName = ObjectTypes.folder(theme.toUpperCase());
 
         ImageManager imgMgr = ImageManager.getInstance();
-        imgMgr.loadThemeImages(folderName);
-        loadImagesFromManager(); // 캐시 업데이트
-
-        System.out.println("테마 변경: " + theme + " -> " + folderName);
+        CompletableFuture<ImageManager.Theme> f = imgMgr.loadThemeAsync(folderName);
+        if (f.isDone()) {
+            applyTheme(f.join());
+            System.out.println("테마 변경: " + theme + " -> " + folderName + " (미리 읽음)");
+            return;
+        }
+        long t0 = System.currentTimeMillis();
+        f.thenAccept(loaded -> SwingUtilities.invokeLater(() -> {
+            // 기다리는 사이 다른 테마로 바뀌었으면 버림
+            if (!ObjectTypes.folder(currentTheme.toUpperCase()).equals(folderName))
+                return;
+            applyTheme(loaded);
+            System.out.println("테마 변경: " + theme + " -> " + folderName
+                    + " (" + (System.currentTimeMillis() - t0) + "ms 대기)");
+        }));
     }
 
     /**
-     * ImageManager에서 imageCache로 이미지 복사
+     * 디코딩된 테마를 현재 테마로 (EDT)
      */
-    private void copyImageFromManager(String key, ImageManager imgMgr) {
-        BufferedImage img = imgMgr.getImage(key);
-        if (img != null) {
-            imageCache.put(key, img);
-        }
-    }
-
-    @Deprecated
-    private void loadImages() {
-        loadImage("BG_TILE", "/assets/Background.png", "resources/assets/Background.png", "assets/Background.png");
-        loadImage("SEEKER", "/assets/Man.png", "resources/assets/Man.png", "assets/Man.png");
-        loadImage("BOX", "/assets/Box.png", "resources/assets/Box.png", "assets/Box.png");
-        loadImage("CHAIR", "/assets/Chair.png", "resources/assets/Chair.png", "assets/Chair.png");
-        loadImage("BARREL", "/assets/CircleBox.png", "resources/assets/CircleBox.png", "assets/CircleBox.png");
-        loadImage("CONE", "/assets/Con.png", "resources/assets/Con.png", "assets/Con.png");
-        loadImage("TABLE", "/assets/Table.png", "resources/assets/Table.png", "assets/Table.png");
-        loadImage("TIRE", "/assets/Tier.png", "resources/assets/Tier.png", "assets/Tier.png");
-    }
-
-    private void loadImage(String key, String... paths) {
-        for (String p : paths) {
-            try {
-                BufferedImage bi = null;
-                if (p.startsWith("/")) {
-                    try (InputStream is = GameClient.class.getResourceAsStream(p)) {
-                        if (is != null)
-                            bi = ImageIO.read(is);
-                    }
-                } else {
-                    File f = new File(p);
-                    if (f.exists())
-                        bi = ImageIO.read(f);
-                }
-                if (bi != null) {
-                    imageCache.put(key, bi);
-                    System.out.println("✅ IMG " + key + " <- " + p);
-                    return;
-                }
-            } catch (Exception ignore) {
-            }
-        }
-        System.out.println("❌ IMG FAIL " + key);
+    private void applyTheme(ImageManager.Theme loaded) {
+        ImageManager.getInstance().useTheme(loaded);
+        gamePanel.repaint();
     }
 
     // ====== GamePanel ======
@@ -2164,6 +2595,11 @@ public class GameClient extends JFrame {
         // 이펙트
         private final List<BulletTrail> trails = new ArrayList<>();
         private final List<HitEffect> hits = new ArrayList<>();
+        // 이번 프레임이 잡고 있는 테마 이미지 (paintComponent 동안만 유효)
+        private ImageManager.Frame frame;
+        // 이번 프레임 줌과 그에 맞는 스프라이트 밉맵 단계
+        private double frameZoom = 1.0;
+        private int spriteLevel = 0;
 
         class BulletTrail {
             double sx, sy; // 시작 위치 (술래 위치)
@@ -2219,42 +2655,77 @@ public class GameClient extends JFrame {
             Graphics2D g2 = (Graphics2D) g;
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+            hud.frameStart();
+            try (ImageManager.Frame f = ImageManager.getInstance().acquire()) {
+                frame = f;
+                paintWorld(g2);
+            } finally {
+                frame = null;
+            }
+            hud.frameEnd();
+            if (hudVisible)
+                hud.draw(g2, 15, 60);
+        }
+
+        /**
+         * 레이어 순서대로 그리기 (레이어마다 진단 오버레이에 비용 기록)
+         */
+        private void paintWorld(Graphics2D g2) {
+            // 월드 레이어는 줌 배율로 그림 (좌표는 월드 단위 그대로), UI/미니맵은 화면 좌표로 되돌려서
+            java.awt.geom.AffineTransform screen = g2.getTransform();
+            frameZoom = zoom();
+            spriteLevel = MipChain.levelFor(frameZoom);
+            if (frameZoom != 1.0) {
+                g2.scale(frameZoom, frameZoom);
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            }
+
             drawBackground(g2);
+            hud.layerDone(DiagnosticsHud.LAYER_BACKGROUND);
 
             if (currentState == GameState.HIDING) {
                 // 맵 객체 렌더링 (initialMapObjects)
-                for (ObjectInfo o : initialMapObjects)
-                    drawObject(g2, o.type, o.x, o.y, false, null);
+                for (ObjectInfo o : initialMapObjects) {
+                    if (o != null)
+                        drawObject(g2, o.type, o.x, o.y, false, null);
+                }
+                hud.layerDone(DiagnosticsHud.LAYER_OBJECTS);
                 // 숨는사람만 자기 자신 표시
                 if (!isSeeker && myClientId != null) {
                     PlayerData me = players.get(myClientId);
                     if (me != null)
-                        drawObject(g2, me.disguise == null ? "BOX" : me.disguise, me.x, me.y, true, myName);
+                        drawObject(g2, me.disguise, me.x, me.y, true, myName);
                 }
+                hud.layerDone(DiagnosticsHud.LAYER_PLAYERS);
+                g2.setTransform(screen);
                 drawMiniMap(g2);
+                hud.layerDone(DiagnosticsHud.LAYER_MINIMAP);
                 return;
             }
 
             // 맵 객체 렌더링 (objects)
             for (ObjectInfo o : objects.values())
                 drawObject(g2, o.type, o.x, o.y, false, null);
+            hud.layerDone(DiagnosticsHud.LAYER_OBJECTS);
 
             // 플레이어를 Y좌표 기준으로 정렬하여 렌더링 (Y가 작은 것이 먼저 = 뒤에 있음)
+            updateRenderPositions();
             List<PlayerData> sortedPlayers = new ArrayList<>(players.values());
             sortedPlayers.removeIf(p -> !p.alive);
-            sortedPlayers.sort((a, b) -> Double.compare(a.y, b.y));
+            sortedPlayers.sort((a, b) -> Double.compare(a.ry, b.ry));
 
             for (PlayerData p : sortedPlayers) {
                 if (p.isSeeker)
                     drawSeeker(g2, p);
                 else {
                     if (isSeeker && myClientId != null && !p.id.equals(myClientId)) {
-                        drawObject(g2, p.disguise == null ? "BOX" : p.disguise, p.x, p.y, false, null);
+                        drawObject(g2, p.disguise, p.rx, p.ry, false, null);
                     } else {
-                        drawObject(g2, p.disguise == null ? "BOX" : p.disguise, p.x, p.y, true, p.name);
+                        drawObject(g2, p.disguise, p.rx, p.ry, true, p.name);
                     }
                 }
             }
+            hud.layerDone(DiagnosticsHud.LAYER_PLAYERS);
 
             // 총알 애니메이션 (시작점에서 끝점으로 이동)
             for (BulletTrail t : trails) {
@@ -2297,14 +2768,20 @@ public class GameClient extends JFrame {
                 g2.setColor(new Color(255, 120, 0, h.life * 20));
                 g2.drawOval(x - 16, y - 16, 32, 32);
             }
+            hud.layerDone(DiagnosticsHud.LAYER_EFFECTS);
 
+            g2.setTransform(screen);
             drawUI(g2);
+            hud.layerDone(DiagnosticsHud.LAYER_UI);
             drawMiniMap(g2);
+            hud.layerDone(DiagnosticsHud.LAYER_MINIMAP);
         }
 
         private void drawBackground(Graphics2D g) {
             // 배경 이미지 사용
-            Image bgImage = imageCache.get("BG_TILE");
+            // 줌아웃 시 그릴 크기 이상인 가장 작은 밉맵 단계
+            MipChain bg = frame.background();
+            Image bgImage = bg == null ? null : bg.forWidth((int) Math.ceil(worldW * frameZoom));
             if (bgImage != null) {
                 // 전체 화면을 배경 이미지로 채움
                 g.drawImage(bgImage, (int) -camX, (int) -camY, worldW, worldH, null);
@@ -2341,12 +2818,10 @@ public class GameClient extends JFrame {
         }
 
         private void drawSeeker(Graphics2D g, PlayerData p) {
-            int x = (int) Math.round(p.x - camX);
-            int y = (int) Math.round(p.y - camY);
-            Image seeker = imageCache.get("SEEKER");
-            if (seeker != null)
-                g.drawImage(seeker, x - 50, y - 60, 100, 120, null);
-            else {
+            int x = (int) Math.round(p.rx - camX);
+            int y = (int) Math.round(p.ry - camY);
+            SpriteAtlas atlas = frame.atlas();
+            if (atlas == null || !atlas.draw(g, SpriteAtlas.SEEKER, x, y, spriteLevel)) {
                 g.setColor(new Color(220, 50, 50));
                 g.fillOval(x - 25, y - 38, 50, 60);
                 g.setColor(Color.BLACK);
@@ -2376,32 +2851,17 @@ public class GameClient extends JFrame {
             }
         }
 
-        private void drawObject(Graphics2D g, String type, double wx, double wy, boolean isPlayer, String name) {
-            if (type == null)
-                type = "BOX";
-            if ("CRATE".equals(type))
-                type = "BOX";
-            // 일부 테마 전용 타입(PLANT/LAMP/BOOK 등)에 대한 가시성 보장용 매핑
-            if ("PLANT".equals(type) || "LAMP".equals(type) || "BOOK".equals(type)) {
-                type = "BOX"; // 스프라이트가 없는 경우 BOX로 대체 렌더링
-            }
+        /**
+         * typeId = ObjectTypes id (NONE 이면 기본 상자). 크기/스프라이트는 id 로 배열 조회
+         */
+        private void drawObject(Graphics2D g, int typeId, double wx, double wy, boolean isPlayer, String name) {
+            ObjectTypes.Descriptor type = ObjectTypes.get(typeId);
             int x = (int) Math.round(wx - camX);
             int y = (int) Math.round(wy - camY);
 
-            // 학교 맵에서는 오브젝트 이미지를 더 크게 표시
-            // 소화기(FIRESTOP) 같은 크기의 아이템들은 100px, 의자/책상 등은 120px
+            // 학교 맵 학용품은 더 크게 (등록부의 그리기 크기)
             int baseSize = 80;
-            int size = baseSize;
-            if ("SCHOOL".equalsIgnoreCase(currentTheme)) {
-                // 학교맵에서 특정 오브젝트들을 더 크게 (소화기는 100px, 나머지 학용품은 120px)
-                if ("FIRESTOP".equalsIgnoreCase(type)) {
-                    size = 100;
-                } else if ("CHAIR".equalsIgnoreCase(type) || "TABLE".equalsIgnoreCase(type) ||
-                        "BROWNCLEANER".equalsIgnoreCase(type) || "WHITECLEANER".equalsIgnoreCase(type) ||
-                        "TRASH".equalsIgnoreCase(type)) {
-                    size = 120; // 의자, 책상, 청소용품, 휴지통은 소화기보다 더 크게
-                }
-            }
+            int size = type == null ? baseSize : type.drawSize;
             double scale = (double) size / baseSize;
 
             if (isPlayer && name != null) {
@@ -2410,24 +2870,22 @@ public class GameClient extends JFrame {
                 g.fillOval(x - ph / 2, y - ph / 2, ph, ph);
             }
 
-            Image spr = imageCache.get(type);
-            if (spr != null) {
-                g.drawImage(spr, x - size / 2, y - size / 2, size, size, null);
-            } else {
-                // 폴백 간단도형 (기존 80px 기반을 scale로 조정)
-                switch (type) {
+            SpriteAtlas atlas = frame.atlas();
+            if (type == null || atlas == null || !atlas.draw(g, typeId, x, y, spriteLevel)) {
+                // 폴백 간단도형 (기존 80px 기반을 scale로 조정) - 스프라이트가 없을 때만
+                switch (type == null ? "BOX" : type.name) {
                     case "BOX" -> {
                         g.setColor(new Color(160, 82, 45));
                         int w = (int) Math.round(80 * scale);
                         g.fillRect(x - w / 2, y - w / 2, w, w);
                     }
-                    case "BARREL" -> {
+                    case "CIRCLEBOX" -> {
                         g.setColor(Color.GRAY);
                         int w = (int) Math.round(80 * scale);
                         int h = (int) Math.round(90 * scale);
                         g.fillOval(x - w / 2, y - h / 2, w, h);
                     }
-                    case "CONE" -> {
+                    case "CON" -> {
                         g.setColor(new Color(255, 140, 0));
                         int dx = (int) Math.round(35 * scale);
                         int top = (int) Math.round(50 * scale);
@@ -2610,23 +3068,56 @@ public class GameClient extends JFrame {
             if (currentState == GameState.PLAYING) {
                 g.setColor(new Color(255, 255, 255, 160));
                 g.setFont(new Font("Malgun Gothic", Font.PLAIN, 12));
-                String controls = isSeeker ? "WASD: 이동 | SPACE: 사격" : "WASD: 이동";
+                String controls = !isAlive ? String.format("관전 WASD: 카메라 | 휠/+-: 줌 (x%.2f)", frameZoom)
+                        : isSeeker ? "WASD: 이동 | SPACE: 사격" : "WASD: 이동";
                 g.drawString(controls, 20, getHeight() - 18);
             }
         }
 
+        /**
+         * 미니맵 - 배경 밉맵의 썸네일 단계 + 내 위치 (관전 중이면 맵 오브젝트와 살아있는 플레이어 전부)
+         * PLAYING 중 살아있는 플레이어에게는 오브젝트 점을 그리지 않음 - 변장한 숨는 사람은 점이 없어서
+         * 화면의 소품과 미니맵 점을 비교하면 누가 숨는 사람인지 드러남
+         */
         private void drawMiniMap(Graphics2D g) {
             int pad = 10, mmW = 220, mmH = 160;
             int x = getWidth() - mmW - pad, y = pad;
 
             g.setColor(new Color(0, 0, 0, 160));
             g.fillRoundRect(x - 6, y - 6, mmW + 12, mmH + 12, 10, 10);
-            g.setColor(new Color(25, 25, 28));
-            g.fillRect(x, y, mmW, mmH);
+            MipChain bg = frame.background();
+            if (bg != null) {
+                g.drawImage(bg.forWidth(mmW), x, y, mmW, mmH, null);
+            } else {
+                g.setColor(new Color(25, 25, 28));
+                g.fillRect(x, y, mmW, mmH);
+            }
 
             double sx = mmW / (double) worldW, sy = mmH / (double) worldH;
 
-            // 내 위치만 표시
+            // 맵 오브젝트 (HIDING 중이거나 관전 중일 때만)
+            if (currentState == GameState.HIDING || !isAlive) {
+                g.setColor(new Color(40, 40, 40, 170));
+                Collection<ObjectInfo> mapObjects = currentState == GameState.HIDING ? initialMapObjects : objects.values();
+                for (ObjectInfo o : mapObjects) {
+                    if (o != null)
+                        g.fillRect(x + (int) Math.round(o.x * sx) - 1, y + (int) Math.round(o.y * sy) - 1, 3, 3);
+                }
+            }
+
+            // 관전 중: 살아있는 플레이어 전부 (술래 빨강, 숨는 사람 초록)
+            if (!isAlive) {
+                for (PlayerData p : players.values()) {
+                    if (!p.alive)
+                        continue;
+                    int px = x + (int) Math.round(p.rx * sx);
+                    int py = y + (int) Math.round(p.ry * sy);
+                    g.setColor(p.isSeeker ? new Color(230, 60, 60) : new Color(60, 200, 90));
+                    g.fillOval(px - 2, py - 2, 5, 5);
+                }
+            }
+
+            // 내 위치
             if (myClientId != null) {
                 PlayerData me = players.get(myClientId);
                 if (me != null && me.alive) {
@@ -2640,8 +3131,8 @@ public class GameClient extends JFrame {
             }
 
             // 현재 뷰포트
-            int vw = (int) Math.round(getWidth() * sx);
-            int vh = (int) Math.round(getHeight() * sy);
+            int vw = (int) Math.round(getWidth() / frameZoom * sx);
+            int vh = (int) Math.round(getHeight() / frameZoom * sy);
             int vx = x + (int) Math.round(camX * sx);
             int vy = y + (int) Math.round(camY * sy);
             g.setColor(Color.WHITE);
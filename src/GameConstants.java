@@ -50,19 +50,12 @@ public class GameConstants {
         SCHOOL, CONSTRUCTION, CITY
     }
 
-    // 테마별 오브젝트 타입들
-    public static final String[] CITY_OBJECTS = {
-            "CON", "TIRE", "BLUE_CAR_H", "BLUE_CAR_V", "RED_CAR_H", "RED_CAR_V",
-            "LIGHT", "BLUEMAN", "OLDMAN", "WALKMAN", "WALKWOMAN"
-    };
+    // 테마별 오브젝트 타입들 (ObjectTypes 등록부에서 가져옴)
+    public static final String[] CITY_OBJECTS = ObjectTypes.names("CITY");
 
-    public static final String[] CONSTRUCTION_OBJECTS = {
-            "BOX", "CIRCLEBOX", "CON", "BRICK", "FENCE", "TIRE"
-    };
+    public static final String[] CONSTRUCTION_OBJECTS = ObjectTypes.names("CONSTRUCTION");
 
-    public static final String[] SCHOOL_OBJECTS = {
-            "CHAIR", "TABLE", "BROWNCLEANER", "FIRESTOP", "TRASH", "WHITECLEANER"
-    };
+    public static final String[] SCHOOL_OBJECTS = ObjectTypes.names("SCHOOL");
 
     // 기본 오브젝트 타입들 (호환성을 위해 유지)
     public static final String[] OBJECT_TYPES = SCHOOL_OBJECTS;
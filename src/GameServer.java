@@ -2,46 +2,113 @@ import java.io.*;
 import java.net.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Prop Hunt 2D - GameServer
  * - 레이캐스트 사격(BULLET/RAY) 지원
  * - HIDING: 술래는 배경/오브젝트만, 플레이어 안 보임
+ * - 게임 상태(플레이어/오브젝트/단계)는 game-tick 스레드 하나만 변경 (단일 작성자)
+ *   ClientHandler 는 파싱만 하고 상태 변경은 submit() 으로 명령 큐에 넣음, 타이머도 같은 스레드에서 실행
  */
 public class GameServer {
     private static final int PORT = 12345;
+    private static final int UDP_PORT = PORT + 1; // 위치 상태용 UDP 채널 (-Dudp=false 로 끔)
+    private static final int METRICS_PORT = PORT + 2; // 127.0.0.1 전용 GET /metrics
     private static final int MAX_PLAYERS = 10;
 
     // 월드 / 게임 상수
     private static final int HIDE_TIME_MS = 20000;
-    private static final int WORLD_W = 2000;
-    private static final int WORLD_H = 1200;
+    private static final int WORLD_W = MapGenerator.WORLD_W;
+    private static final int WORLD_H = MapGenerator.WORLD_H;
     private static final double PLAYER_RADIUS = 24; // 충돌 반경(px)
-    private static final double OBJ_RADIUS = 22;    // 오브젝트 충돌 반경
     private static final double RAY_STEP = 8;       // 레이캐스트 step
     private static final double RAY_MAX = 1200;     // 최대 사거리
+    private static final long MAX_REWIND_MS = 250;  // 랙 보정 최대 되감기 시간
+    private static final long VIEW_LAG_SLACK_MS = 100; // 클라가 보낸 viewLagMs 가 서버 추정치보다 이만큼 넘으면 서버 값 사용
+    private static final long PING_INTERVAL_MS = 1000; // 서버 -> 클라 PING 주기 (연결별 RTT 측정)
+
+    // 서버 이동 적분 (INPUT 프로토콜)
+    private static final long TICK_MS = 16;                 // 60Hz
+    private static final double WALL = 50;                  // 클라이언트 WALL_THICKNESS와 동일
+    private static final double SEEKER_MOVE_SPEED = 10.0;   // tick당 이동 px
+    private static final double HIDER_MOVE_SPEED = 6.0;
+    static final int INPUT_UP = 1, INPUT_DOWN = 2, INPUT_LEFT = 4, INPUT_RIGHT = 8;
+
+    // 명령별 수신 속도 제한 {초당 토큰, 버스트} - 목록에 없는 명령은 OTHER로 묶음
+    private static final Map<String, double[]> RATE_LIMITS = Map.ofEntries(
+            Map.entry("INPUT", new double[]{30, 30}),
+            Map.entry("MOVE", new double[]{70, 30}),     // 어차피 tick마다 마지막 위치만 적용됨
+            Map.entry("SHOOT_RAY", new double[]{5, 3}),
+            Map.entry("CHAT", new double[]{2, 5}),
+            Map.entry("SELECT_MAP", new double[]{1, 3}),
+            Map.entry("START_GAME", new double[]{1, 3}),
+            Map.entry("JOIN", new double[]{1, 2}),
+            Map.entry("MAP_REQUEST", new double[]{1, 2}),
+            Map.entry("PING", new double[]{5, 5}),
+            Map.entry("PONG", new double[]{5, 5}),
+            Map.entry("OTHER", new double[]{10, 10}));
 
     private ServerSocket serverSocket;
-    private final List<ClientHandler> clients = new CopyOnWriteArrayList<>();
-    private final Map<String, PlayerData> players = new ConcurrentHashMap<>();
-    private final Set<String> alivePlayers = ConcurrentHashMap.newKeySet();
-    private final Map<String, ObjectInfo> hiddenObjects = new ConcurrentHashMap<>();
+    // 연결 목록 (입장/퇴장 때만 스냅샷 배열 교체, 브로드캐스트는 배열 순회)
+    private final ConnectionRegistry<ClientHandler> clients = new ConnectionRegistry<>(ClientHandler[]::new);
+    // players / entities / gameState 는 벤치마크(benchmarks 모듈)에서 직접 채우도록 패키지 접근
+    // 아래 게임 상태는 game-tick 스레드에서만 변경 (players 는 메트릭 조회용으로만 동시 맵 유지)
+    // entities: 플레이어/맵 오브젝트의 위치·반경·HP·플래그 열 (판정/인코딩은 이 배열을 선형 스캔)
+    // players: 프로토콜 경계용 id -> 세션 정보 (행 핸들 포함)
+    final EntityTable entities = new EntityTable();
+    final Map<String, PlayerData> players = new ConcurrentHashMap<>();
+    private final Set<String> alivePlayers = new HashSet<>();
 
     private final Random rand = new Random();
-    private GameState gameState = GameState.WAITING;
+    volatile GameState gameState = GameState.WAITING; // 쓰기는 game-tick 만, 메트릭에서 읽음
+    // game-tick 스레드 = 이 매치의 유일한 게임 스레드 (tick, 명령 처리, 단계 전환 타이머 모두 여기서)
+    private final ScheduledThreadPoolExecutor ticker = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "game-tick");
+        t.setDaemon(true);
+        return t;
+    });
+    // 다른 스레드 -> 게임 스레드 명령 큐 (여러 생산자 / 소비자 1개, 락 없음). tick 시작마다 비움
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
 
     private String seekerId = null;
     private String lastSeekerId = null; // ★ 직전 술래 기억해서 연속으로 안 뽑히게
 
     private Theme currentTheme = Theme.SCHOOL;
-    private String[] currentObjectPool = new String[0];
-    private Timer disguiseTimer;
+    private int[] currentObjectPool = new int[0]; // 변장 후보 ObjectTypes id
+    private ScheduledFuture<?> disguiseTask;
 
     // 맵 선택 관련
     // key = playerName, value = "SCHOOL"/"CITY"/"CONSTRUCTION"
-    private final Map<String, String> playerMapSelections = new ConcurrentHashMap<>();
+    private final Map<String, String> playerMapSelections = new LinkedHashMap<>();
+
+    // 미리 인코딩해 둔 메시지 (게임 스레드에서 교체, 늦게 들어온 접속자에게 그대로 재전송)
+    // mapSeedPayload: 맵 배치마다 MAP_SEED 한 줄, 리셋 시 무효화
+    // initialMapPayload: 전체 좌표(INITIAL_MAP) - MAP_REQUEST 가 처음 올 때 인코딩, 재배치/리셋 시 무효화
+    // mapSelectionsPayload: 맵 선택이 바뀔 때마다 한 번 인코딩, 리셋 시 무효화
+    private Payload mapSeedPayload;
+    private Payload initialMapPayload;
+    private Payload mapSelectionsPayload;
     private boolean allPlayersSelected = false;
 
+    // 계측 (명령별 통계는 metrics.command(), 나머지는 아래 캐시해 둔 항목)
+    final ServerMetrics metrics = new ServerMetrics();
+    private final LongAdder coalescedMoves = metrics.counter("moves.coalesced"); // tick 사이에 덮어써진 MOVE 수
+    private final LongAdder messagesSent = metrics.counter("messages.sent");
+    private final LongAdder matchesStarted = metrics.counter("matches.started");
+    private final LatencyHistogram tickNanos = metrics.histogram("tick_ns");
+    private final LatencyHistogram fanoutNanos = metrics.histogram("broadcast.fanout_ns");
+    private final LongAdder commandsRun = metrics.counter("game.commands");
+    private final LatencyHistogram commandNanos = metrics.histogram("game.command_ns");
+    // JOIN 에서 압축을 협상한 연결에 쓰는 한 줄 압축 (-Ddeflate=false 로 끔)
+    private static final boolean DEFLATE_ENABLED = Boolean.parseBoolean(System.getProperty("deflate", "true"));
+    final MessageDeflate deflate = new MessageDeflate(metrics);
+
+    // UDP 상태 채널 (열지 못하면 null → 전부 TCP)
+    private UdpStateChannel udp;
+    private final Map<String, ClientHandler> pendingUdpTokens = new ConcurrentHashMap<>();
+
     enum GameState {
         WAITING, HIDING, PLAYING, ENDED
     }
@@ -50,32 +117,89 @@ public class GameServer {
         SCHOOL, CONSTRUCTION, CITY
     }
 
+    /**
+     * 플레이어 세션 정보 + 엔티티 테이블 행(위치/HP/생존/술래 여부는 테이블 열에 저장)
+     */
     static class PlayerData {
+        final EntityTable table;
+        final int handle;
         String id, name;
-        int hp = 100;
-        boolean isSeeker = false;
-        boolean alive = true;
-        String disguise = null;
-        double x = 100, y = 100;
-
-        PlayerData(String id, String name) {
+        int disguise = ObjectTypes.NONE; // ObjectTypes id
+        int lastInputSeq = -1; // 마지막으로 처리한 MOVE 입력 번호 (클라 예측 보정용)
+        final PositionHistory history = new PositionHistory(); // 랙 보정용 위치 이력
+
+        // 입력 상태 (INPUT:mask:faceX:faceY:seq) - tick마다 서버가 이동을 적분
+        int inputMask = 0;
+        int inputSeq = -1;
+        int inputSteps = 0; // 현재 inputSeq로 적분한 tick 수 (클라 예측 보정 기준)
+        boolean moving = false; // 직전 tick 에 입력으로 움직였는지 (멈출 때 정지 위치를 한 번 더 보내기 위함)
+        double faceX = 0, faceY = -1;
+
+        PlayerData(EntityTable table, String id, String name) {
+            this.table = table;
             this.id = id;
             this.name = name;
+            this.handle = table.add(id, EntityTable.FLAG_PLAYER | EntityTable.FLAG_ALIVE, 100, 100, PLAYER_RADIUS);
+        }
+
+        double x() {
+            return table.x[handle];
+        }
+
+        double y() {
+            return table.y[handle];
+        }
+
+        void moveTo(double x, double y) {
+            table.x[handle] = x;
+            table.y[handle] = y;
+        }
+
+        int hp() {
+            return table.hp[handle];
+        }
+
+        void setHp(int hp) {
+            table.hp[handle] = hp;
+        }
+
+        boolean isAlive() {
+            return table.has(handle, EntityTable.FLAG_ALIVE);
+        }
+
+        void setAlive(boolean alive) {
+            table.set(handle, EntityTable.FLAG_ALIVE, alive);
+        }
+
+        boolean isSeeker() {
+            return table.has(handle, EntityTable.FLAG_SEEKER);
+        }
+
+        void setSeeker(boolean seeker) {
+            table.set(handle, EntityTable.FLAG_SEEKER, seeker);
+        }
+
+        /**
+         * 퇴장 시 테이블 행 반납
+         */
+        void release() {
+            table.remove(handle);
         }
     }
 
-    static class ObjectInfo {
-        String type;
-        double x, y;
-        boolean isPlayer;
-        String playerId;
+    /**
+     * 레이 판정 결과 (type = PLAYER / OBJ / NONE, x, y = 궤적 끝점)
+     */
+    static class RayHit {
+        final String type;
+        final String id;
+        final double x, y;
 
-        ObjectInfo(String type, double x, double y, boolean isPlayer, String pid) {
+        RayHit(String type, String id, double x, double y) {
             this.type = type;
+            this.id = id;
             this.x = x;
             this.y = y;
-            this.isPlayer = isPlayer;
-            this.playerId = pid;
         }
     }
 
@@ -86,18 +210,229 @@ public class GameServer {
     public void start() {
         try {
             serverSocket = new ServerSocket(PORT);
-            System.out.println("🎮 서버 시작: " + PORT);
+            AsyncLogger.info("🎮 서버 시작: {}", PORT);
+            ticker.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+            scheduleRepeating(this::pingClients, PING_INTERVAL_MS, PING_INTERVAL_MS, "PING 전송 오류");
+            openUdp();
+            startMetrics();
 
             while (true) {
                 Socket s = serverSocket.accept();
                 ClientHandler ch = new ClientHandler(s, this);
                 clients.add(ch);
                 new Thread(ch).start();
-                System.out.println("✅ 연결: " + ch.clientId);
+                AsyncLogger.info("✅ 연결: {}", ch.clientId);
+            }
+        } catch (IOException e) {
+            AsyncLogger.error("서버 소켓 오류", e);
+        }
+    }
+
+    /**
+     * 게이지/클라이언트별 구역 등록 후 로컬 HTTP 노출 + 종료 시 덤프 (-Dmetrics.dump 로 경로 지정)
+     */
+    private void startMetrics() {
+        metrics.gauge("connections.active", clients::size);
+        metrics.gauge("players.joined", players::size);
+        metrics.gauge("matches.active", () -> gameState == GameState.HIDING || gameState == GameState.PLAYING ? 1 : 0);
+        metrics.gauge("queue.tick_tasks", () -> ticker.getQueue().size());
+        metrics.gauge("queue.game_commands", commands::size);
+        metrics.gauge("queue.pending_moves", () -> Arrays.stream(clients.all()).filter(c -> c.pendingMove.get() != null).count());
+        metrics.gauge("queue.pending_udp_offers", pendingUdpTokens::size);
+        metrics.gauge("udp.clients", () -> Arrays.stream(clients.all()).filter(c -> c.udpAddress != null).count());
+        metrics.gauge("udp.datagrams_sent", () -> udp == null ? 0 : udp.getSentDatagrams());
+        metrics.gauge("udp.bytes_sent", () -> udp == null ? 0 : udp.getSentBytes());
+        metrics.gauge("log.dropped", AsyncLogger::getDropped);
+        metrics.section("clients (id messages bytes rate_limited rtt_ms clock_offset_ms)", () -> {
+            StringBuilder sb = new StringBuilder();
+            for (ClientHandler c : clients.all()) {
+                sb.append(c.clientId).append(' ').append(c.sentMessages.sum())
+                        .append(' ').append(c.sentBytes == null ? 0 : c.sentBytes.getCount())
+                        .append(' ').append(c.rateLimitedCount)
+                        .append(' ').append(c.clock.rttMs())
+                        .append(' ').append(c.clock.offsetMs()).append('\n');
             }
+            return sb.toString();
+        });
+
+        try {
+            metrics.startHttp(METRICS_PORT);
+            AsyncLogger.info("📊 메트릭: http://127.0.0.1:{}/metrics", METRICS_PORT);
+        } catch (IOException e) {
+            AsyncLogger.warn("⚠️ 메트릭 HTTP 열기 실패: {}", e.getMessage());
+        }
+        metrics.dumpOnShutdown(java.nio.file.Path.of(System.getProperty("metrics.dump", "server-metrics.txt")));
+    }
+
+    /**
+     * UDP 상태 채널 열기. 실패해도 TCP만으로 계속 동작
+     */
+    private void openUdp() {
+        if (!Boolean.parseBoolean(System.getProperty("udp", "true"))) return;
+        try {
+            udp = UdpStateChannel.bind(UDP_PORT);
+            udp.startReceiving(this::onDatagram);
+            AsyncLogger.info("📡 UDP 상태 채널: {}", UDP_PORT);
         } catch (IOException e) {
-            e.printStackTrace();
+            udp = null;
+            AsyncLogger.warn("⚠️ UDP 채널 열기 실패, TCP만 사용: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 클라이언트 데이터그램 처리 - 현재는 HELLO:token (UDP 주소 등록)만 받음
+     */
+    private void onDatagram(SocketAddress from, String line) {
+        if (!line.startsWith(UdpStateChannel.HELLO + ":")) return;
+        String token = line.substring(UdpStateChannel.HELLO.length() + 1);
+        ClientHandler c = pendingUdpTokens.remove(token);
+        if (c == null) return;
+        c.udpAddress = from;
+        c.send("UDP_READY");
+        AsyncLogger.info("📡 UDP 등록: {} {}", c.clientId, from);
+    }
+
+    // ================== 이동 tick ==================
+
+    /**
+     * 게임 상태를 바꾸는 작업을 게임 스레드에 맡김 (어느 스레드에서나 호출 가능). 다음 tick 시작 시 순서대로 실행
+     */
+    void submit(Runnable command) {
+        commands.offer(command);
+    }
+
+    /**
+     * 쌓인 명령 실행. tick 도중 새로 들어온 명령은 다음 tick 으로 미뤄 tick 시간이 한없이 늘지 않게 함
+     */
+    private void drainCommands() {
+        for (int n = commands.size(); n > 0; n--) {
+            Runnable cmd = commands.poll();
+            if (cmd == null) break;
+            long t0 = System.nanoTime();
+            try {
+                cmd.run();
+            } catch (Exception e) {
+                AsyncLogger.error("게임 명령 처리 오류", e); // 명령 하나 실패가 tick을 멈추지 않도록
+            }
+            commandNanos.record(System.nanoTime() - t0);
+            commandsRun.increment();
+        }
+    }
+
+    /**
+     * 게임 스레드에서 delayMs 뒤 실행 (단계 전환 타이머용)
+     */
+    private ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return ticker.schedule(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                AsyncLogger.error("게임 타이머 오류", e);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 게임 스레드에서 주기 실행 - scheduleAtFixedRate 는 예외가 한 번 나면 이후 실행을 조용히 취소하므로 감싸서 로그만 남김
+     */
+    private ScheduledFuture<?> scheduleRepeating(Runnable task, long initialDelayMs, long periodMs, String errorMessage) {
+        return ticker.scheduleAtFixedRate(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                AsyncLogger.error(errorMessage, e);
+            }
+        }, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * tick마다: 명령 큐 처리 + 합쳐 둔 MOVE 적용 + 입력 상태(키 비트마스크)에 따른 이동 적분
+     */
+    private void tick() {
+        long t0 = System.nanoTime();
+        try {
+            drainCommands();
+            GameState state = gameState;
+            boolean moving = state == GameState.HIDING || state == GameState.PLAYING;
+
+            for (ClientHandler c : clients.all()) {
+                PlayerData p = players.get(c.clientId);
+                if (p == null) continue;
+                double[] move = c.pendingMove.getAndSet(null);
+                if (move != null) applyMove(c, p, state, move);
+                if (moving) integrateInput(c, p, state);
+            }
+        } catch (Exception e) {
+            AsyncLogger.error("tick 오류", e); // 예외로 스케줄이 멈추지 않도록
+        }
+        tickNanos.record(System.nanoTime() - t0);
+    }
+
+    /**
+     * 절대 좌표 MOVE 적용 (tick 사이 마지막 값만 도착) - {x, y, seq}
+     */
+    private void applyMove(ClientHandler c, PlayerData p, GameState state, double[] move) {
+        if (!p.isAlive()) return;
+        int seq = (int) move[2];
+        if (seq >= 0 && seq <= p.lastInputSeq) return; // 순서 뒤바뀐 옛 입력 무시
+
+        // HIDING 동안 술래는 중앙 고정
+        if (state == GameState.HIDING && p.isSeeker()) {
+            p.moveTo(WORLD_W / 2.0, WORLD_H / 2.0);
+        } else {
+            p.moveTo(ClientHandler.clamp(move[0], 40, WORLD_W - 40),
+                    ClientHandler.clamp(move[1], 40, WORLD_H - 40));
+        }
+        p.history.record(nowMs(), p.x(), p.y());
+
+        if (seq >= 0) p.lastInputSeq = seq;
+
+        // 본인에게 에코 (+ 처리한 입력 번호 ack)
+        String msg = "PLAYER_MOVE:" + p.id + ":" + p.x() + ":" + p.y();
+        c.sendState(seq >= 0 ? msg + ":" + seq : msg);
+
+        // 게임 중에는 다른 플레이어들에게 브로드캐스트
+        if (state == GameState.PLAYING) {
+            broadcastStateExcept(msg, c);
+        }
+    }
+
+    /**
+     * 입력 상태에 따라 한 tick 이동
+     * 움직이는 동안만 PLAYER_MOVE 를 보내므로, 멈춘 첫 tick 에 같은 위치를 한 번 더 보내서
+     * 다른 클라이언트 보간 버퍼가 늦은 패킷이 아니라 정지로 알아보게 함 (멈출 때 외삽으로 튀어나가지 않도록)
+     */
+    private void integrateInput(ClientHandler c, PlayerData p, GameState state) {
+        int mask = p.inputMask;
+        double dx = ((mask & INPUT_RIGHT) != 0 ? 1 : 0) - ((mask & INPUT_LEFT) != 0 ? 1 : 0);
+        double dy = ((mask & INPUT_DOWN) != 0 ? 1 : 0) - ((mask & INPUT_UP) != 0 ? 1 : 0);
+        // 죽었거나, 입력이 없거나, HIDING 동안 술래(중앙 고정)면 이동 없음
+        if (!p.isAlive() || (dx == 0 && dy == 0) || (state == GameState.HIDING && p.isSeeker())) {
+            if (p.moving) {
+                p.moving = false;
+                if (state == GameState.PLAYING && p.isAlive())
+                    broadcastStateExcept("PLAYER_MOVE:" + p.id + ":" + p.x() + ":" + p.y(), c);
+            }
+            return;
         }
+        p.moving = true;
+        double n = Math.hypot(dx, dy);
+        double speed = p.isSeeker() ? SEEKER_MOVE_SPEED : HIDER_MOVE_SPEED;
+        p.moveTo(ClientHandler.clamp(p.x() + dx / n * speed, WALL, WORLD_W - WALL),
+                ClientHandler.clamp(p.y() + dy / n * speed, WALL, WORLD_H - WALL));
+        p.inputSteps++;
+        p.history.record(nowMs(), p.x(), p.y());
+
+        String move = "PLAYER_MOVE:" + p.id + ":" + p.x() + ":" + p.y();
+        c.sendState(move + ":" + p.inputSeq + ":" + p.inputSteps);
+        if (state == GameState.PLAYING) {
+            broadcastStateExcept(move, c);
+        }
+    }
+
+    private static TokenBucket newRateLimit(String cmd) {
+        double[] limit = RATE_LIMITS.get(cmd);
+        return new TokenBucket(limit[0], limit[1]);
     }
 
     // ================== 게임 시작/초기화 ==================
@@ -106,15 +441,16 @@ public class GameServer {
      * ★ 직전 술래를 제외하고 다음 술래를 공정하게 선택
      */
     private String selectNextSeekerFair() {
-        if (clients.isEmpty()) return null;
-        if (clients.size() == 1) {
-            lastSeekerId = clients.get(0).clientId;
+        ClientHandler[] all = clients.all();
+        if (all.length == 0) return null;
+        if (all.length == 1) {
+            lastSeekerId = all[0].clientId;
             return lastSeekerId;
         }
 
         // 직전 술래를 제외한 후보 리스트
         List<ClientHandler> candidates = new ArrayList<>();
-        for (ClientHandler ch : clients) {
+        for (ClientHandler ch : all) {
             if (lastSeekerId == null || !ch.clientId.equals(lastSeekerId)) {
                 candidates.add(ch);
             }
@@ -122,7 +458,7 @@ public class GameServer {
 
         // 만약 직전 술래만 남았거나, 필터링 결과가 비었다면 전체에서 다시 랜덤
         if (candidates.isEmpty()) {
-            candidates.addAll(clients);
+            candidates.addAll(Arrays.asList(all));
         }
 
         ClientHandler picked = candidates.get(rand.nextInt(candidates.size()));
@@ -133,15 +469,16 @@ public class GameServer {
     /**
      * 실제 게임 시작
      */
-    private synchronized void startGame() {
+    private void startGame() {
         if (clients.size() < 2) {
             broadcast("SYSTEM:최소 2명 이상이어야 게임을 시작할 수 있습니다.");
             return;
         }
 
         gameState = GameState.HIDING;
+        matchesStarted.increment();
         alivePlayers.clear();
-        hiddenObjects.clear();
+        entities.removeAll(EntityTable.FLAG_OBJECT);
 
         // ★ 술래 선정 - 직전 술래 제외하고 뽑기
         seekerId = selectNextSeekerFair();
@@ -150,212 +487,220 @@ public class GameServer {
             return;
         }
 
-        // 테마/오브젝트 풀
-        String[] objects;
-        switch (currentTheme) {
-            case CONSTRUCTION -> objects = new String[]{
-                    "BOX", "CIRCLEBOX", "CON", "TIRE", "BRICK", "FENCE"
-            };
-            case CITY -> objects = new String[]{
-                    "CON", "OLDMAN", "BLUEMAN", "BLUE_CAR_H", "BLUE_CAR_V", "LIGHT",
-                    "RED_CAR_H", "RED_CAR_V", "TIRE", "TRASH", "WALKMAN", "WALKWOMAN", "WOMAN"
-            };
-            default -> objects = new String[]{
-                    "CHAIR", "TABLE", "BROWNCLEANER", "FIRESTOP", "TRASH", "WHITECLEANER"
-            };
-        }
-        currentObjectPool = objects;
+        // 테마별 변장 후보 (맵 배치와 같은 풀)
+        currentObjectPool = ObjectTypes.pool(currentTheme.name());
 
         // 플레이어 초기화
-        for (ClientHandler c : clients) {
+        for (ClientHandler c : clients.all()) {
             PlayerData p = players.get(c.clientId);
             if (p == null) continue;
 
-            p.hp = 100;
-            p.alive = true;
+            p.setHp(100);
+            p.setAlive(true);
 
             if (c.clientId.equals(seekerId)) {
-                p.isSeeker = true;
-                p.disguise = null;
-                p.x = WORLD_W / 2.0;
-                p.y = WORLD_H / 2.0;
+                p.setSeeker(true);
+                p.disguise = ObjectTypes.NONE;
+                p.moveTo(WORLD_W / 2.0, WORLD_H / 2.0);
             } else {
-                p.isSeeker = false;
-                p.disguise = objects[rand.nextInt(objects.length)];
-                p.x = 300 + rand.nextInt(WORLD_W - 600);
-                p.y = 200 + rand.nextInt(WORLD_H - 400);
+                p.setSeeker(false);
+                p.disguise = currentObjectPool[rand.nextInt(currentObjectPool.length)];
+                p.moveTo(300 + rand.nextInt(WORLD_W - 600), 200 + rand.nextInt(WORLD_H - 400));
                 alivePlayers.add(p.id);
             }
+            p.history.reset(nowMs(), p.x(), p.y());
         }
 
         // ★ 난잡함 줄인 맵 오브젝트 배치
         placeMapObjects(currentTheme);
 
         // 클라이언트에게 게임 시작 알림
-        broadcast("GAME_START:HIDING:" + seekerId + ":" + currentTheme.name());
-        sendInitialMapState();
+        // 마지막 필드: PLAYING 전환 시각(서버 시계) - 클라는 시계 차이를 보정해서 카운트다운
+        broadcast("GAME_START:HIDING:" + seekerId + ":" + currentTheme.name() + ":"
+                + (serverTimeMs() + HIDE_TIME_MS));
+        broadcast(mapSeedPayload);
 
         // 개별 역할 통지
-        for (ClientHandler c : clients) {
+        for (ClientHandler c : clients.all()) {
             PlayerData p = players.get(c.clientId);
             if (p == null) continue;
-            if (p.isSeeker) {
-                c.send("ROLE:SEEKER:" + p.x + ":" + p.y);
+            if (p.isSeeker()) {
+                c.send("ROLE:SEEKER:" + p.x() + ":" + p.y());
             } else {
-                c.send("ROLE:HIDER:" + p.disguise + ":" + p.x + ":" + p.y);
+                c.send("ROLE:HIDER:" + p.disguise + ":" + p.x() + ":" + p.y());
             }
         }
 
         // Hiding 끝나면 PLAYING 전환
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                gameState = GameState.PLAYING;
-                broadcast("GAME_PLAYING");
-                sendGameState();
-
-                // 도망자 자동 변장 타이머
-                if (disguiseTimer != null) {
-                    try {
-                        disguiseTimer.cancel();
-                    } catch (Exception ignored) {
-                    }
-                }
-                disguiseTimer = new Timer();
-                disguiseTimer.scheduleAtFixedRate(new TimerTask() {
-                    @Override
-                    public void run() {
-                        if (gameState != GameState.PLAYING) return;
-                        for (PlayerData p : players.values()) {
-                            if (!p.isSeeker && p.alive && currentObjectPool.length > 0) {
-                                p.disguise = currentObjectPool[rand.nextInt(currentObjectPool.length)];
-                            }
-                        }
-                        sendGameState();
-                    }
-                }, 10000, 10000);
-            }
+        schedule(() -> {
+            if (gameState != GameState.HIDING) return;
+            gameState = GameState.PLAYING;
+            broadcast("GAME_PLAYING:" + serverTimeMs()); // 변장 주기 기준 시각
+            sendGameState();
+
+            // 도망자 자동 변장 타이머
+            cancelDisguiseTask();
+            disguiseTask = scheduleRepeating(this::cycleDisguises, 10000, 10000, "자동 변장 오류");
         }, HIDE_TIME_MS);
     }
 
+    private void cycleDisguises() {
+        if (gameState != GameState.PLAYING) return;
+        for (PlayerData p : players.values()) {
+            if (!p.isSeeker() && p.isAlive() && currentObjectPool.length > 0) {
+                p.disguise = currentObjectPool[rand.nextInt(currentObjectPool.length)];
+            }
+        }
+        sendGameState();
+    }
+
+    private void cancelDisguiseTask() {
+        if (disguiseTask != null) {
+            disguiseTask.cancel(false);
+            disguiseTask = null;
+        }
+    }
+
     /**
-     * ★ 맵별 랜덤 객체 배치 - 그리드 기반 + 최대 개수 제한으로 난잡함 줄이기
+     * 이번 매치 시드로 MapGenerator 배치를 만들어 테이블에 넣고 MAP_SEED 메시지를 준비
+     * (클라이언트는 같은 시드로 직접 생성하므로 좌표는 보내지 않음)
      */
     private void placeMapObjects(Theme theme) {
-        hiddenObjects.clear();
-        int objId = 0;
-        final int MAX_OBJECTS = 45;   // 전체 최대 오브젝트 수
-
-        String[] objectPool;
-        switch (theme) {
-            case CONSTRUCTION -> objectPool = new String[]{
-                    "BOX", "CIRCLEBOX", "CON", "TIRE", "BRICK", "FENCE"
-            };
-            case CITY -> objectPool = new String[]{
-                    "CON", "OLDMAN", "BLUEMAN", "BLUE_CAR_H", "BLUE_CAR_V", "LIGHT",
-                    "RED_CAR_H", "RED_CAR_V", "TIRE", "TRASH", "WALKMAN", "WALKWOMAN", "WOMAN"
-            };
-            default -> objectPool = new String[]{
-                    "CHAIR", "TABLE", "BROWNCLEANER", "FIRESTOP", "TRASH", "WHITECLEANER"
-            };
-        }
-
-        // 그리드 기반 배치 (조금 널널하게)
-        int gridCols = 8; // 가로 셀 수
-        int gridRows = 5; // 세로 셀 수
-        int cellWidth = WORLD_W / gridCols;
-        int cellHeight = WORLD_H / gridRows;
-        int margin = 80; // 셀 안쪽 여백
-
-        for (int row = 0; row < gridRows && objId < MAX_OBJECTS; row++) {
-            for (int col = 0; col < gridCols && objId < MAX_OBJECTS; col++) {
-                // 각 셀마다 60% 확률로 1개 배치
-                if (rand.nextDouble() < 0.6) {
-                    int cellX = col * cellWidth + margin;
-                    int cellY = row * cellHeight + margin;
-                    int maxX = (col + 1) * cellWidth - margin;
-                    int maxY = (row + 1) * cellHeight - margin;
-
-                    if (maxX > cellX && maxY > cellY) {
-                        double x = cellX + rand.nextInt(maxX - cellX);
-                        double y = cellY + rand.nextInt(maxY - cellY);
-                        String objType = objectPool[rand.nextInt(objectPool.length)];
-                        hiddenObjects.put("OBJ_" + (objId++),
-                                new ObjectInfo(objType, x, y, false, null));
-                    }
-                }
+        entities.removeAll(EntityTable.FLAG_OBJECT);
+        initialMapPayload = null; // 배치가 바뀌므로 MAP_REQUEST 가 오면 다시 인코딩
 
-                // 약간 더 풍성하게 보이기 위한 추가 배치(20% 확률) - 여전히 최대 수 체크
-                if (objId >= MAX_OBJECTS) break;
-                if (rand.nextDouble() < 0.2) {
-                    int cellX = col * cellWidth + margin;
-                    int cellY = row * cellHeight + margin;
-                    int maxX = (col + 1) * cellWidth - margin;
-                    int maxY = (row + 1) * cellHeight - margin;
-
-                    if (maxX > cellX && maxY > cellY) {
-                        double x = cellX + rand.nextInt(maxX - cellX);
-                        double y = cellY + rand.nextInt(maxY - cellY);
-                        String objType = objectPool[rand.nextInt(objectPool.length)];
-                        hiddenObjects.put("OBJ_" + (objId++),
-                                new ObjectInfo(objType, x, y, false, null));
-                    }
-                }
-            }
+        long seed = rand.nextLong();
+        List<MapGenerator.Placement> placements = MapGenerator.generate(theme.name(), seed);
+        for (MapGenerator.Placement o : placements) {
+            entities.addObject(o.index, o.type, o.x, o.y, ObjectTypes.get(o.type).radius);
         }
+        mapSeedPayload = Payload.of("MAP_SEED:" + theme.name() + ":" + seed + ":" + MapGenerator.VERSION);
 
-        System.out.println("[SERVER] " + theme + " 맵 객체 " + hiddenObjects.size() + "개 랜덤 배치 완료");
+        AsyncLogger.info("[SERVER] {} 맵 객체 {}개 배치 완료 (seed={}, v{})",
+                theme, placements.size(), seed, MapGenerator.VERSION);
     }
 
-    private void sendInitialMapState() {
-        StringBuilder sb = new StringBuilder("INITIAL_MAP:");
-        hiddenObjects.forEach((id, o) ->
-                sb.append(id).append(",")
-                        .append(o.type).append(",")
-                        .append(o.x).append(",")
-                        .append(o.y).append(";"));
-        broadcast(sb.toString());
-        System.out.println("[SERVER] INITIAL_MAP sent, objects=" + hiddenObjects.size());
+    /**
+     * INITIAL_MAP:id,종류id,x,y;... - 생성기 버전이 다른 클라이언트용 전체 좌표 (처음 요청 때 한 번 인코딩)
+     */
+    private Payload initialMapPayload() {
+        if (initialMapPayload == null) {
+            StringBuilder sb = new StringBuilder("INITIAL_MAP:");
+            appendObjects(sb, entities);
+            initialMapPayload = Payload.of(sb.toString());
+        }
+        return initialMapPayload;
     }
 
     private void sendGameState() {
+        broadcast(encodeGameState(gameState, players.values(), entities));
+    }
+
+    /**
+     * GAME_STATE:상태:플레이어;...:오브젝트 번호 구간;... 인코딩 (플레이어 변장은 ObjectTypes id, 없으면 -1)
+     * 오브젝트는 MapGenerator 배치 번호만 보냄 (예: 0-44, 중간이 빠지면 0-11;13-44)
+     */
+    static String encodeGameState(GameState state, Collection<PlayerData> players, EntityTable entities) {
         StringBuilder sb = new StringBuilder("GAME_STATE:");
-        sb.append(gameState.name()).append(":");
+        sb.append(state.name()).append(":");
 
         // 플레이어들
-        for (PlayerData p : players.values()) {
+        for (PlayerData p : players) {
             sb.append(p.id).append(",")
                     .append(p.name).append(",")
-                    .append(p.isSeeker).append(",")
-                    .append(p.alive).append(",")
-                    .append(p.hp).append(",")
-                    .append(p.x).append(",")
-                    .append(p.y).append(",")
-                    .append(p.disguise == null ? "NONE" : p.disguise)
+                    .append(p.isSeeker()).append(",")
+                    .append(p.isAlive()).append(",")
+                    .append(p.hp()).append(",")
+                    .append(p.x()).append(",")
+                    .append(p.y()).append(",")
+                    .append(p.disguise)
                     .append(";");
         }
 
         sb.append(":");
 
-        // 오브젝트들
-        hiddenObjects.forEach((id, o) ->
-                sb.append(id).append(",")
-                        .append(o.type).append(",")
-                        .append(o.x).append(",")
-                        .append(o.y).append(";"));
+        // 오브젝트들 (위치는 클라이언트가 시드로 생성한 맵에서 찾음)
+        appendObjectRefs(sb, entities);
+
+        return sb.toString();
+    }
 
-        broadcast(sb.toString());
+    /**
+     * 남아 있는 오브젝트의 배치 번호를 정렬해서 연속 구간(a-b 또는 a)으로 이어 붙임
+     */
+    private static void appendObjectRefs(StringBuilder sb, EntityTable t) {
+        int[] refs = new int[t.limit()];
+        int n = 0;
+        for (int h = 0, lim = t.limit(); h < lim; h++) {
+            if ((t.flags[h] & EntityTable.FLAG_OBJECT) != 0 && t.mapIndex[h] >= 0)
+                refs[n++] = t.mapIndex[h];
+        }
+        Arrays.sort(refs, 0, n);
+        for (int i = 0; i < n; ) {
+            int start = refs[i], end = start;
+            while (++i < n && refs[i] == end + 1)
+                end = refs[i];
+            sb.append(start);
+            if (end != start)
+                sb.append("-").append(end);
+            sb.append(";");
+        }
     }
 
+    /**
+     * 테이블의 오브젝트 행을 id,type,x,y; 형식으로 이어 붙임 (INITIAL_MAP)
+     */
+    private static void appendObjects(StringBuilder sb, EntityTable t) {
+        for (int h = 0, n = t.limit(); h < n; h++) {
+            if ((t.flags[h] & EntityTable.FLAG_OBJECT) == 0) continue;
+            sb.append(t.id[h]).append(",")
+                    .append(t.type[h]).append(",")
+                    .append(t.x[h]).append(",")
+                    .append(t.y[h]).append(";");
+        }
+    }
+
+    /**
+     * 전원에게 전송 - 문자열은 한 번만 바이트로 인코딩하고 연결마다 그대로 씀
+     */
     private void broadcast(String msg) {
-        for (ClientHandler c : clients) {
-            c.send(msg);
+        broadcast(Payload.of(msg));
+    }
+
+    private void broadcast(Payload payload) {
+        long t0 = System.nanoTime();
+        for (ClientHandler c : clients.all()) {
+            c.sendRaw(payload);
+        }
+        fanoutNanos.record(System.nanoTime() - t0);
+    }
+
+    /**
+     * 특정 클라이언트를 제외하고 브로드캐스트
+     */
+    private void broadcastExcept(String msg, ClientHandler except) {
+        long t0 = System.nanoTime();
+        Payload payload = Payload.of(msg);
+        for (ClientHandler c : clients.all()) {
+            if (c != except) c.sendRaw(payload);
+        }
+        fanoutNanos.record(System.nanoTime() - t0);
+    }
+
+    /**
+     * 위치 상태 브로드캐스트 (UDP 등록된 클라이언트는 UDP, 나머지는 TCP)
+     */
+    private void broadcastStateExcept(String msg, ClientHandler except) {
+        long t0 = System.nanoTime();
+        for (ClientHandler c : clients.all()) {
+            if (c != except) c.sendState(msg);
         }
+        fanoutNanos.record(System.nanoTime() - t0);
     }
 
     // ================== 맵 선택 처리 ==================
 
-    private synchronized void handleMapSelection(String playerId, String mapName) {
+    private void handleMapSelection(String playerId, String mapName) {
         PlayerData player = players.get(playerId);
         if (player == null) return;
 
@@ -370,13 +715,14 @@ public class GameServer {
             msg.append(":").append(entry.getKey())
                     .append(":").append(entry.getValue());
         }
-        broadcast(msg.toString());
+        mapSelectionsPayload = Payload.of(msg.toString());
+        broadcast(mapSelectionsPayload);
     }
 
     private void checkAllPlayersSelected() {
         if (playerMapSelections.size() >= players.size() && players.size() >= 2) {
             allPlayersSelected = true;
-            broadcast("ALL_SELECTED");
+            broadcast("ALL_SELECTED:" + (serverTimeMs() + 5000)); // 게임 시작 시각(서버 시계)
 
             // 가장 많이 선택된 맵으로 결정
             Map<String, Integer> mapCounts = new HashMap<>();
@@ -391,84 +737,47 @@ public class GameServer {
 
             currentTheme = Theme.valueOf(selectedMap);
 
-            // 5초 뒤 실제 게임 시작
-            Timer startTimer = new Timer();
-            startTimer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    startGame();
-                }
+            // 5초 뒤 실제 게임 시작 (그 사이 START_GAME 으로 이미 시작했으면 무시)
+            schedule(() -> {
+                if (gameState == GameState.WAITING && allPlayersSelected) startGame();
             }, 5000);
         }
     }
 
     // ================== 레이캐스트 사격 처리 ==================
 
-    private void handleShootRay(String shooterId, double sx, double sy, double dx, double dy) {
+    /**
+     * @param viewLagMs 사격 시점에 술래 화면이 서버보다 뒤처져 있던 시간(RTT + 보간 지연).
+     *                  MAX_REWIND_MS 로 제한해서 그만큼 과거 위치로 되감아 판정
+     */
+    void handleShootRay(String shooterId, double sx, double sy, double dx, double dy, long viewLagMs) {
         PlayerData shooter = players.get(shooterId);
-        if (shooter == null || !shooter.isSeeker || gameState != GameState.PLAYING) return;
+        if (shooter == null || !shooter.isSeeker() || gameState != GameState.PLAYING) return;
 
         double len = Math.hypot(dx, dy);
         if (len < 1e-6) return;
         dx /= len;
         dy /= len;
 
-        double t = 0.0;
-        String hitType = "NONE";
-        String hitId = null;
-        double hitX = sx, hitY = sy;
-
-        // 레이 전진하며 충돌 체크
-        while (t <= RAY_MAX) {
-            double px = sx + dx * t;
-            double py = sy + dy * t;
-
-            // 플레이어 먼저 체크
-            for (PlayerData p : players.values()) {
-                if (!p.alive || p.id.equals(shooterId)) continue;
-                double dist = Math.hypot(p.x - px, p.y - py);
-                if (dist <= PLAYER_RADIUS) {
-                    hitType = "PLAYER";
-                    hitId = p.id;
-                    hitX = px;
-                    hitY = py;
-                    t = RAY_MAX + 1;
-                    break;
-                }
-            }
-            if ("PLAYER".equals(hitType)) break;
-
-            // 오브젝트 체크
-            for (Map.Entry<String, ObjectInfo> e : hiddenObjects.entrySet()) {
-                ObjectInfo o = e.getValue();
-                double dist = Math.hypot(o.x - px, o.y - py);
-                if (dist <= OBJ_RADIUS) {
-                    hitType = "OBJ";
-                    hitId = e.getKey();
-                    hitX = px;
-                    hitY = py;
-                    t = RAY_MAX + 1;
-                    break;
-                }
-            }
-            t += RAY_STEP;
-        }
-
-        double ex = ("NONE".equals(hitType)) ? (sx + dx * RAY_MAX) : hitX;
-        double ey = ("NONE".equals(hitType)) ? (sy + dy * RAY_MAX) : hitY;
+        long rewindTo = nowMs() - Math.max(0, Math.min(viewLagMs, MAX_REWIND_MS));
+        RayHit hit = traceRay(shooterId, sx, sy, dx, dy, rewindTo);
+        String hitType = hit.type;
+        String hitId = hit.id;
+        double ex = hit.x;
+        double ey = hit.y;
 
         // 총알 궤적 브로드캐스트
         broadcast("BULLET:" + sx + ":" + sy + ":" + ex + ":" + ey);
 
         if ("PLAYER".equals(hitType)) {
             PlayerData victim = players.get(hitId);
-            if (victim != null && victim.alive) {
+            if (victim != null && victim.isAlive()) {
                 // 플레이어에게 50 데미지
-                victim.hp = Math.max(0, victim.hp - 50);
-                broadcast("HIT:PLAYER:" + victim.id + ":" + victim.x + ":" + victim.y);
+                victim.setHp(Math.max(0, victim.hp() - 50));
+                broadcast("HIT:PLAYER:" + victim.id + ":" + victim.x() + ":" + victim.y());
 
-                if (victim.hp <= 0) {
-                    victim.alive = false;
+                if (victim.hp() <= 0) {
+                    victim.setAlive(false);
                     alivePlayers.remove(victim.id);
                     broadcast("PLAYER_HIT:" + victim.id + ":" + victim.name);
                 }
@@ -477,11 +786,11 @@ public class GameServer {
             checkGameEnd();
         } else if ("OBJ".equals(hitType)) {
             // 오브젝트에 맞춤 → 술래 HP -10
-            shooter.hp = Math.max(0, shooter.hp - 10);
-            broadcast("WRONG_SHOT:" + shooterId + ":" + shooter.hp);
+            shooter.setHp(Math.max(0, shooter.hp() - 10));
+            broadcast("WRONG_SHOT:" + shooterId + ":" + shooter.hp());
             broadcast("HIT:OBJ:" + hitId + ":" + ex + ":" + ey);
 
-            if (shooter.hp <= 0) {
+            if (shooter.hp() <= 0) {
                 broadcast("SEEKER_DIED:" + shooterId);
                 endGame(false);
                 return;
@@ -490,6 +799,61 @@ public class GameServer {
         }
     }
 
+    /**
+     * 레이 판정만 수행 (상태 변경/전송 없음). dx, dy 는 정규화된 방향
+     * 플레이어는 rewindTo 시점 위치로 되감아 검사
+     */
+    RayHit traceRay(String shooterId, double sx, double sy, double dx, double dy, long rewindTo) {
+        EntityTable e = entities;
+        int shooter = e.handle(shooterId);
+
+        // 랙 보정: 대상별 되감은 위치를 한 번만 계산 (이력 조회 O(log n))
+        int n = 0;
+        int[] th = new int[players.size()];
+        double[] tx = new double[th.length];
+        double[] ty = new double[th.length];
+        double[] pos = new double[2];
+        for (PlayerData p : players.values()) {
+            if (n == th.length || p.handle == shooter || !p.isAlive()) continue;
+            th[n] = p.handle;
+            if (p.history.positionAt(rewindTo, pos)) {
+                tx[n] = pos[0];
+                ty[n] = pos[1];
+            } else {
+                tx[n] = p.x();
+                ty[n] = p.y();
+            }
+            n++;
+        }
+
+        // 레이 전진하며 충돌 체크 (거리 비교는 제곱으로)
+        int limit = e.limit();
+        for (double t = 0.0; t <= RAY_MAX; t += RAY_STEP) {
+            double px = sx + dx * t;
+            double py = sy + dy * t;
+
+            // 플레이어 먼저 체크 (되감은 위치 기준)
+            for (int i = 0; i < n; i++) {
+                double ddx = tx[i] - px, ddy = ty[i] - py;
+                double r = e.radius[th[i]];
+                if (ddx * ddx + ddy * ddy <= r * r) {
+                    return new RayHit("PLAYER", e.id[th[i]], px, py);
+                }
+            }
+
+            // 오브젝트 체크 (테이블 열 선형 스캔)
+            for (int h = 0; h < limit; h++) {
+                if ((e.flags[h] & EntityTable.FLAG_OBJECT) == 0) continue;
+                double ddx = e.x[h] - px, ddy = e.y[h] - py;
+                double r = e.radius[h];
+                if (ddx * ddx + ddy * ddy <= r * r) {
+                    return new RayHit("OBJ", e.id[h], px, py);
+                }
+            }
+        }
+        return new RayHit("NONE", null, sx + dx * RAY_MAX, sy + dy * RAY_MAX);
+    }
+
     private void checkGameEnd() {
         if (gameState != GameState.PLAYING) return;
         if (alivePlayers.isEmpty()) {
@@ -499,13 +863,7 @@ public class GameServer {
 
     private void endGame(boolean seekerWon) {
         gameState = GameState.ENDED;
-        if (disguiseTimer != null) {
-            try {
-                disguiseTimer.cancel();
-            } catch (Exception ignored) {
-            }
-            disguiseTimer = null;
-        }
+        cancelDisguiseTask();
 
         if (seekerWon) {
             PlayerData seeker = players.get(seekerId);
@@ -516,34 +874,60 @@ public class GameServer {
         }
 
         // 5초 뒤 리셋
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                resetGame();
-                broadcast("GAME_RESET");
-            }
+        schedule(() -> {
+            resetGame();
+            broadcast("GAME_RESET");
         }, 5000);
     }
 
-    private synchronized void resetGame() {
+    private void resetGame() {
         gameState = GameState.WAITING;
         seekerId = null;
         alivePlayers.clear();
-        hiddenObjects.clear();
+        entities.removeAll(EntityTable.FLAG_OBJECT);
+        mapSeedPayload = null;
+        initialMapPayload = null;
         playerMapSelections.clear();
+        mapSelectionsPayload = null;
         allPlayersSelected = false;
 
         // 플레이어 상태 초기화 (연결 유지)
         for (PlayerData p : players.values()) {
-            p.hp = 100;
-            p.alive = true;
-            p.isSeeker = false;
-            p.disguise = null;
-            p.x = 100;
-            p.y = 100;
+            p.setHp(100);
+            p.setAlive(true);
+            p.setSeeker(false);
+            p.disguise = ObjectTypes.NONE;
+            p.moveTo(100, 100);
+            p.inputMask = 0;
+            p.moving = false;
+            p.history.reset(nowMs(), p.x(), p.y());
+        }
+    }
+
+    /**
+     * 클라에 알려주는 이벤트 시각(ms). 클라는 PING/PONG 으로 구한 시계 차이로 자기 시각으로 변환
+     */
+    static long serverTimeMs() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * 모든 연결에 PING:서버시각 전송 - 응답 PONG 으로 연결별 RTT 추정 (ticker 스레드)
+     */
+    private void pingClients() {
+        String ping = "PING:" + serverTimeMs();
+        for (ClientHandler c : clients.all()) {
+            c.send(ping);
         }
     }
 
+    /**
+     * 랙 보정/이력 기록용 단조 증가 시각(ms)
+     */
+    private static long nowMs() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
     // ================== 클라이언트 핸들러 ==================
 
     static class ClientHandler implements Runnable {
@@ -554,6 +938,22 @@ public class GameServer {
 
         final String clientId = "PLAYER_" + UUID.randomUUID().toString().substring(0, 8);
 
+        // 다음 tick에 적용할 MOVE {x, y, seq} (tick 사이에는 최신 값만 유지)
+        final AtomicReference<double[]> pendingMove = new AtomicReference<>();
+        // 명령별 토큰 버킷 (이 핸들러 스레드에서만 사용)
+        private final Map<String, TokenBucket> rateLimits = new HashMap<>();
+        private volatile long rateLimitedCount = 0; // 이 핸들러 스레드에서만 증가
+        // 송신 통계
+        final LongAdder sentMessages = new LongAdder();
+        volatile CountingOutputStream sentBytes;
+        private final Object sendLock = new Object(); // println / sendRaw 순서 보장
+        // JOIN 에서 MessageDeflate.CAP 을 알린 연결 (CAPS 응답 이후 큰 줄은 Z: 로 압축해서 보냄)
+        volatile boolean deflate;
+        // HELLO로 확인된 클라이언트 UDP 주소 (null이면 상태도 TCP로 전송)
+        volatile SocketAddress udpAddress;
+        // 서버가 보낸 PING 의 응답으로 추정한 RTT / 시계 차이
+        final ClockSync clock = new ClockSync();
+
         ClientHandler(Socket s, GameServer server) {
             this.socket = s;
             this.server = server;
@@ -563,14 +963,15 @@ public class GameServer {
         public void run() {
             try {
                 in  = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                out = new PrintWriter(socket.getOutputStream(), true);
+                sentBytes = new CountingOutputStream(socket.getOutputStream());
+                out = new PrintWriter(sentBytes, true);
 
                 String msg;
                 while ((msg = in.readLine()) != null) {
                     handle(msg.trim());
                 }
             } catch (IOException e) {
-                System.out.println("⚠️ 연결 종료: " + clientId);
+                AsyncLogger.info("⚠️ 연결 종료: {}", clientId);
             } finally {
                 cleanup();
             }
@@ -580,53 +981,95 @@ public class GameServer {
             if (message.isEmpty()) return;
             String[] parts = message.split(":", 2);
             String cmd = parts[0];
+            ServerMetrics.CommandStats stats = server.metrics.command(RATE_LIMITS.containsKey(cmd) ? cmd : "OTHER");
+            if (!allow(cmd, stats)) return;
+
+            long t0 = System.nanoTime();
+            try {
+                dispatch(cmd, parts);
+            } finally {
+                stats.handleNanos.record(System.nanoTime() - t0);
+            }
+        }
 
+        /**
+         * 이 스레드(연결별)에서는 파싱/검증만 하고, 게임 상태를 읽거나 바꾸는 부분은 server.submit() 으로 넘김
+         */
+        private void dispatch(String cmd, String[] parts) {
             switch (cmd) {
                 case "JOIN" -> {
-                    String name = (parts.length > 1 ? parts[1] : "Player");
-                    server.players.put(clientId, new PlayerData(clientId, name));
-                    send("JOINED:" + clientId);
-                    server.broadcast("PLAYER_LIST:" + getPlayerList());
-                    server.broadcast("SYSTEM:" + name + "님이 입장했습니다.");
+                    // JOIN:이름[:지원 기능,...] - 이름에 ':' 가 있을 수 있으므로 마지막 ':' 뒤가
+                    // 아는 기능 목록일 때만 떼어 냄 (아니면 예전처럼 JOIN: 뒤 전체가 이름)
+                    String rest = parts.length > 1 ? parts[1] : "Player";
+                    int capAt = rest.lastIndexOf(':');
+                    boolean hasCaps = capAt >= 0
+                            && Arrays.asList(rest.substring(capAt + 1).split(",")).contains(MessageDeflate.CAP);
+                    String name = hasCaps ? rest.substring(0, capAt) : rest;
+                    boolean wantsDeflate = DEFLATE_ENABLED && hasCaps;
+                    server.submit(() -> {
+                        server.players.put(clientId, new PlayerData(server.entities, clientId, name));
+                        send("JOINED:" + clientId);
+                        if (wantsDeflate) {
+                            send("CAPS:" + MessageDeflate.CAP);
+                            deflate = true;
+                        }
+                        offerUdp();
+                        // 늦게 들어온 접속자: 현재 로비 선택 / 진행 중 맵 시드를 인코딩해 둔 그대로 전송
+                        Payload selections = server.mapSelectionsPayload;
+                        if (selections != null) sendRaw(selections);
+                        Payload seed = server.mapSeedPayload;
+                        if (seed != null && server.gameState != GameState.WAITING) sendRaw(seed);
+                        server.broadcast("PLAYER_LIST:" + getPlayerList());
+                        server.broadcast("SYSTEM:" + name + "님이 입장했습니다.");
+                    });
+                }
+                case "MAP_REQUEST" -> {
+                    // 생성기 버전이 다르거나 생성에 실패한 클라이언트: 전체 좌표로 대체
+                    server.submit(() -> {
+                        if (server.gameState != GameState.WAITING && server.mapSeedPayload != null)
+                            sendRaw(server.initialMapPayload());
+                    });
                 }
                 case "SELECT_MAP" -> {
-                    if (server.gameState == GameState.WAITING && parts.length > 1) {
-                        server.handleMapSelection(clientId, parts[1]);
-                    }
+                    if (parts.length < 2) break;
+                    String map = parts[1];
+                    server.submit(() -> {
+                        if (server.gameState == GameState.WAITING) server.handleMapSelection(clientId, map);
+                    });
                 }
-                case "START_GAME" -> {
+                case "START_GAME" -> server.submit(() -> {
                     if (server.gameState == GameState.WAITING && server.allPlayersSelected) {
                         server.startGame();
                     }
-                }
+                });
                 case "MOVE" -> {
+                    // MOVE:x:y[:seq] - 절대 좌표 이동 (INPUT 이전 클라이언트 호환용)
+                    // 바로 적용하지 않고 다음 tick에 마지막 값만 적용/브로드캐스트
+                    // (명령 큐 대신 1칸짜리 원자적 우편함 - 옛 입력 무시/생존 검사는 tick 의 applyMove 에서)
                     if (parts.length < 2) break;
                     String[] xy = parts[1].split(":");
                     if (xy.length < 2) break;
 
-                    PlayerData p = server.players.get(clientId);
-                    if (p == null || !p.alive) break;
-
-                    // HIDING 동안 술래는 중앙 고정
-                    if (server.gameState == GameState.HIDING && p.isSeeker) {
-                        p.x = WORLD_W / 2.0;
-                        p.y = WORLD_H / 2.0;
-                    } else {
-                        double newX = clamp(Double.parseDouble(xy[0]), 40, WORLD_W - 40);
-                        double newY = clamp(Double.parseDouble(xy[1]), 40, WORLD_H - 40);
-                        p.x = newX;
-                        p.y = newY;
-                    }
-
-                    // 본인에게 에코
-                    send("PLAYER_MOVE:" + clientId + ":" + p.x + ":" + p.y);
-
-                    // 게임 중에는 모두에게 브로드캐스트
-                    if (server.gameState == GameState.PLAYING) {
-                        server.broadcast("PLAYER_MOVE:" + clientId + ":" + p.x + ":" + p.y);
+                    int seq = (xy.length >= 3) ? Integer.parseInt(xy[2]) : -1;
+                    double[] move = {Double.parseDouble(xy[0]), Double.parseDouble(xy[1]), seq};
+                    if (pendingMove.getAndSet(move) != null) {
+                        server.coalescedMoves.increment();
                     }
                 }
+                case "INPUT" -> {
+                    // INPUT:mask:faceX:faceY:seq - 입력이 바뀔 때 + 저빈도 하트비트로만 전송됨
+                    if (parts.length < 2) break;
+                    String[] in = parts[1].split(":");
+                    if (in.length < 4) break;
+
+                    int mask = Integer.parseInt(in[0]);
+                    double faceX = Double.parseDouble(in[1]);
+                    double faceY = Double.parseDouble(in[2]);
+                    int seq = Integer.parseInt(in[3]);
+                    server.submit(() -> applyInput(mask, faceX, faceY, seq));
+                }
                 case "SHOOT_RAY" -> {
+                    // SHOOT_RAY:sx:sy:dx:dy[:viewLagMs]
                     if (parts.length < 2) break;
                     String[] d = parts[1].split(":");
                     if (d.length < 4) break;
@@ -634,18 +1077,76 @@ public class GameServer {
                     double sy = Double.parseDouble(d[1]);
                     double dx = Double.parseDouble(d[2]);
                     double dy = Double.parseDouble(d[3]);
-                    server.handleShootRay(clientId, sx, sy, dx, dy);
+                    long claimed = (d.length >= 5) ? Long.parseLong(d[4]) : -1;
+                    long viewLagMs = viewLag(claimed);
+                    server.submit(() -> server.handleShootRay(clientId, sx, sy, dx, dy, viewLagMs));
+                }
+                case "PING" -> {
+                    // PING:t0 -> PONG:t0:받은시각:보낸시각 (클라가 RTT/시계 차이 추정)
+                    if (parts.length > 1) send(ClockSync.pong(parts[1], serverTimeMs()));
+                }
+                case "PONG" -> {
+                    // 서버 PING 응답 PONG:t0:t1:t2 (t1/t2 는 클라 시계)
+                    if (parts.length < 2) break;
+                    long rtt = clock.onPong(parts[1], serverTimeMs());
+                    if (rtt >= 0) server.metrics.histogram("rtt.ms").record(rtt);
                 }
                 case "CHAT" -> {
                     if (parts.length < 2) break;
-                    PlayerData p = server.players.get(clientId);
-                    String name = (p != null ? p.name : "Unknown");
                     String text = parts[1];
-                    server.broadcast("CHAT:" + name + ": " + text);
+                    server.submit(() -> {
+                        PlayerData p = server.players.get(clientId);
+                        String name = (p != null ? p.name : "Unknown");
+                        server.broadcast("CHAT:" + name + ": " + text);
+                    });
                 }
             }
         }
 
+        /**
+         * INPUT 적용 (게임 스레드)
+         */
+        private void applyInput(int mask, double faceX, double faceY, int seq) {
+            PlayerData p = server.players.get(clientId);
+            if (p == null || seq < p.inputSeq) return;
+            p.inputMask = mask; // 하트비트(같은 seq)도 마스크는 다시 맞춤
+            if (seq == p.inputSeq) return;
+
+            p.faceX = faceX;
+            p.faceY = faceY;
+            p.inputSeq = seq;
+            p.inputSteps = 0;
+            // 새 입력 적용 시점 위치를 ack (클라가 같은 시점 예측값과 비교)
+            send("PLAYER_MOVE:" + clientId + ":" + p.x() + ":" + p.y() + ":" + seq + ":0");
+        }
+
+        /**
+         * 랙 보정에 쓸 시야 지연. 클라 값이 없거나(-1) 서버가 잰 RTT + 보간 지연보다
+         * VIEW_LAG_SLACK_MS 이상 크면 믿지 않고 서버 추정치 사용
+         */
+        private long viewLag(long claimedMs) {
+            if (!clock.hasSample())
+                return Math.max(0, claimedMs);
+            long estimate = clock.rttMs() + SnapshotBuffer.INTERP_DELAY_MS;
+            if (claimedMs < 0 || claimedMs > estimate + VIEW_LAG_SLACK_MS)
+                return estimate;
+            return claimedMs;
+        }
+
+        /**
+         * 명령별 토큰 버킷 검사 + 통계 집계
+         */
+        private boolean allow(String cmd, ServerMetrics.CommandStats stats) {
+            String key = RATE_LIMITS.containsKey(cmd) ? cmd : "OTHER";
+            if (rateLimits.computeIfAbsent(key, GameServer::newRateLimit).tryAcquire()) {
+                stats.accepted.increment();
+                return true;
+            }
+            stats.rateLimited.increment();
+            rateLimitedCount++;
+            return false;
+        }
+
         private String getPlayerList() {
             StringBuilder sb = new StringBuilder();
             boolean first = true;
@@ -658,11 +1159,61 @@ public class GameServer {
         }
 
         void send(String msg) {
+            if (deflate && msg.length() >= MessageDeflate.THRESHOLD) {
+                String z = server.deflate.deflate(msg);
+                if (z != null) msg = z;
+            }
             if (out != null) {
-                out.println(msg);
+                synchronized (sendLock) {
+                    out.println(msg);
+                }
+                sentMessages.increment();
+                server.messagesSent.increment();
             }
         }
 
+        /**
+         * 미리 인코딩된 한 줄을 그대로 씀 (PrintWriter 는 println 마다 비워지므로 순서가 섞이지 않음)
+         */
+        void sendRaw(Payload payload) {
+            CountingOutputStream os = sentBytes;
+            if (os == null) return;
+            if (deflate) payload = payload.deflated(server.deflate);
+            try {
+                synchronized (sendLock) {
+                    os.write(payload.bytes());
+                    os.flush();
+                }
+                sentMessages.increment();
+                server.messagesSent.increment();
+            } catch (IOException e) {
+                // 연결이 끊긴 경우 - 읽기 스레드 쪽에서 정리됨 (println 과 동일하게 무시)
+            }
+        }
+
+        /**
+         * 최신 값만 의미 있는 위치 상태 전송 - UDP가 준비됐으면 UDP(손실 허용), 아니면 TCP
+         */
+        void sendState(String msg) {
+            SocketAddress addr = udpAddress;
+            UdpStateChannel ch = server.udp;
+            if (addr != null && ch != null) {
+                ch.send(addr, msg);
+            } else {
+                send(msg);
+            }
+        }
+
+        /**
+         * JOIN 직후 UDP 채널 제안 (클라가 HELLO:token 데이터그램을 보내면 등록됨)
+         */
+        private void offerUdp() {
+            if (server.udp == null || udpAddress != null) return;
+            String token = UUID.randomUUID().toString().replace("-", "");
+            server.pendingUdpTokens.put(token, this);
+            send("UDP_OFFER:" + UDP_PORT + ":" + token);
+        }
+
         private void cleanup() {
             try {
                 if (out != null) out.close();
@@ -670,18 +1221,25 @@ public class GameServer {
                 if (socket != null && !socket.isClosed()) socket.close();
             } catch (IOException ignored) {
             }
+            if (rateLimitedCount > 0) {
+                AsyncLogger.warn("⚠️ 속도 제한으로 버린 명령: {} {}개", clientId, rateLimitedCount);
+            }
 
-            // 서버 측 상태 정리
+            // 서버 측 상태 정리 (연결 목록은 바로, 게임 상태는 게임 스레드에서)
             server.clients.remove(this);
-            PlayerData p = server.players.remove(clientId);
-            if (p != null) {
-                server.alivePlayers.remove(clientId);
-                server.broadcast("PLAYER_LIST:" + getPlayerList());
-                server.broadcast("SYSTEM:" + p.name + "님이 퇴장했습니다.");
-            }
+            server.pendingUdpTokens.values().removeIf(c -> c == this);
+            server.submit(() -> {
+                PlayerData p = server.players.remove(clientId);
+                if (p != null) {
+                    p.release();
+                    server.alivePlayers.remove(clientId);
+                    server.broadcast("PLAYER_LIST:" + getPlayerList());
+                    server.broadcast("SYSTEM:" + p.name + "님이 퇴장했습니다.");
+                }
+            });
         }
 
-        private static double clamp(double v, double lo, double hi) {
+        static double clamp(double v, double lo, double hi) {
             return Math.max(lo, Math.min(hi, v));
         }
     }
@@ -8,7 +8,8 @@ import java.util.concurrent.*;
  */
 public class GameServerModular {
     private ServerSocket serverSocket;
-    private final List<ClientHandler> clients = new CopyOnWriteArrayList<>();
+    // 연결 목록 - 입장/퇴장 때만 스냅샷 배열 교체 (퇴장은 ClientHandler.cleanup 에서 unregister)
+    private final ConnectionRegistry<ClientHandler> clients = new ConnectionRegistry<>(ClientHandler[]::new);
     private final Map<String, GameData.PlayerData> players = new ConcurrentHashMap<>();
     private final Set<String> alivePlayers = ConcurrentHashMap.newKeySet();
     private final Map<String, GameData.ObjectInfo> hiddenObjects = new ConcurrentHashMap<>();
@@ -20,6 +21,7 @@ public class GameServerModular {
     private String seekerId = null;
     private GameConstants.Theme currentTheme = GameConstants.Theme.SCHOOL;
     private List<GameData.ObjectInfo> initialMapObjects;
+    private volatile Payload initialMapPayload; // initialMapObjects 인코딩 결과 (맵 생성 때마다 한 번)
     private long gameStartTime = 0; // 게임 시작 시간
     private Timer gameTimer = null; // PLAYING 시계용 타이머
 
@@ -30,10 +32,10 @@ public class GameServerModular {
     public void start() {
         try {
             serverSocket = new ServerSocket(GameConstants.SERVER_PORT);
-            System.out.println("🎮 서버 시작: " + GameConstants.SERVER_PORT);
+            AsyncLogger.info("🎮 서버 시작: {}", GameConstants.SERVER_PORT);
 
             // 초기 맵 생성
-            initialMapObjects = gameLogic.generateInitialMap();
+            regenerateMap();
 
             // 클라이언트 연결 수락 루프
             while (true) {
@@ -48,23 +50,30 @@ public class GameServerModular {
                 clients.add(handler);
                 new Thread(handler).start();
 
-                System.out.println("✅ 새 클라: " + clientId);
-                sendInitialMapToClient(handler);
+                AsyncLogger.info("✅ 새 클라: {}", clientId);
             }
         } catch (IOException e) {
-            System.err.println("서버 오류: " + e.getMessage());
+            AsyncLogger.error("서버 오류: {}", e.getMessage());
         }
     }
 
     /**
-     * 클라이언트에게 초기 맵 전송
+     * 초기 맵 생성 + INITIAL_MAP 메시지 인코딩 (접속자마다 다시 인코딩하지 않도록 여기서 한 번만)
      */
-    private void sendInitialMapToClient(ClientHandler client) {
+    private void regenerateMap() {
+        initialMapObjects = gameLogic.generateInitialMap();
         StringBuilder mapData = new StringBuilder(NetworkProtocol.MSG_INITIAL_MAP);
         for (GameData.ObjectInfo obj : initialMapObjects) {
             mapData.append(":").append(NetworkProtocol.encodeObjectInfo(obj));
         }
-        client.sendMessage(mapData.toString());
+        initialMapPayload = Payload.of(mapData.toString());
+    }
+
+    /**
+     * 접속 직후 ClientHandler 가 호출 - 인코딩해 둔 INITIAL_MAP 을 그대로 전송
+     */
+    public void sendInitialMap(ClientHandler client) {
+        client.sendRaw(initialMapPayload);
     }
 
     /**
@@ -255,19 +264,26 @@ public class GameServerModular {
                         gameTimer.cancel();
                         gameTimer = null;
                         endGame("HIDERS_WIN");
-                        System.out.println("⏱️ 1분 경과 - 도망자 승리!");
+                        AsyncLogger.info("⏱️ 1분 경과 - 도망자 승리!");
                     }
                 }
             }
         }, 0, 1000);
     }
     public void broadcast(String message) {
-        clients.removeIf(client -> !client.isConnected());
-        for (ClientHandler client : clients) {
-            client.sendMessage(message);
+        Payload payload = Payload.of(message); // 받는 사람 수와 관계없이 인코딩은 한 번
+        for (ClientHandler client : clients.all()) {
+            client.sendRaw(payload);
         }
     }
 
+    /**
+     * 연결 종료 시 목록에서 제거 (ClientHandler.cleanup)
+     */
+    public void unregister(ClientHandler client) {
+        clients.remove(client);
+    }
+
     /**
      * 플레이어 추가
      */
@@ -1,21 +1,134 @@
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 이미지 로딩 및 관리를 담당하는 클래스
  * 테마별 이미지(City, Construction_site, School) 지원
+ * - PNG 디코딩은 백그라운드 스레드(asset-loader) 하나에서 요청 순서대로 (EDT 를 막지 않음)
+ * - 읽은 테마는 바이트 예산(-Dimages.budgetMB) 안에서 보관, 넘치면 가장 오래 안 쓴 테마부터 버림 (LRU)
+ *   현재 테마와 그리는 중인 프레임이 잡고 있는(acquire) 테마는 버리지 않음
+ * - prefetch() 로 쓰일 것 같은 테마를 미리 읽어 둠 (맵 투표 1위 등)
+ * - 미리 디코딩한 스프라이트 번들(SpriteBundle)이 있으면 PNG 대신 사용
+ * - 오브젝트/술래는 테마마다 그리기 크기로 모은 아틀라스(SpriteAtlas)도 같은 스레드에서 만들어 보관
+ * - 배경은 밉맵(MipChain)도 만들어 둠 (관전 줌아웃, 미니맵 썸네일)
+ * 캐시 표(entries)와 카운트는 this 로 잠금 (테마 요청/프레임 시작·끝에만 잠깐 잡음)
  */
 public class ImageManager {
+    // gradle bundleSprites 결과 위치 (-Dsprites.dir 로 변경)
+    static final String SPRITE_DIR = System.getProperty("sprites.dir", "build/sprites");
+    static final long BUDGET_BYTES = Long.getLong("images.budgetMB", 192) << 20;
+    private static final int BG_MIN_SIZE = 128; // 배경 밉맵 가장 작은 단계 (미니맵보다 약간 작게까지)
+
+    /**
+     * 디코딩이 끝난 테마 하나 (읽기 전용, 여러 스레드에서 공유)
+     */
+    public static final class Theme {
+        public final String folder;
+        public final Map<String, BufferedImage> images;
+        public final SpriteAtlas atlas;
+        public final MipChain background; // BG_TILE 밉맵 (배경 이미지가 없으면 null)
+        final long bytes; // 픽셀 메모리 추정 (이미지 + 아틀라스 + 배경 밉맵, 픽셀당 4바이트)
+
+        Theme(String folder, Map<String, BufferedImage> images) {
+            this.folder = folder;
+            this.images = images;
+            this.atlas = SpriteAtlas.pack(ObjectTypes.themeOfFolder(folder), images);
+            BufferedImage bg = images.get("BG_TILE");
+            this.background = bg == null ? null : MipChain.build(bg, BG_MIN_SIZE, 8);
+            long b = atlas.bytes();
+            for (BufferedImage img : images.values())
+                b += 4L * img.getWidth() * img.getHeight();
+            if (background != null)
+                b += background.bytes() - 4L * bg.getWidth() * bg.getHeight(); // 0단계는 images 와 같은 이미지
+            this.bytes = b;
+        }
+
+        public BufferedImage image(String key) {
+            return images.get(key);
+        }
+    }
+
+    /**
+     * 캐시 한 칸 - 디코딩 future 와 지금 이 테마를 잡고 있는 프레임 수
+     */
+    private static final class Entry {
+        final CompletableFuture<Theme> future;
+        int pins;
+        long bytes; // 완료 후 residentBytes 에 더한 값
+
+        Entry(CompletableFuture<Theme> future) {
+            this.future = future;
+        }
+    }
+
+    /**
+     * 프레임 하나가 그리는 동안 잡고 있는 테마 (try-with-resources 로 닫을 것)
+     * 그리는 도중 테마가 바뀌어도 이 프레임은 시작할 때의 이미지/아틀라스를 끝까지 씀
+     */
+    public final class Frame implements AutoCloseable {
+        private final Theme theme;
+        private final Entry entry;
+
+        private Frame(Theme theme, Entry entry) {
+            this.theme = theme;
+            this.entry = entry;
+        }
+
+        public BufferedImage image(String key) {
+            return theme == null ? null : theme.images.get(key);
+        }
+
+        /**
+         * 현재 테마 아틀라스 (아직 테마가 없으면 null)
+         */
+        public SpriteAtlas atlas() {
+            return theme == null ? null : theme.atlas;
+        }
+
+        /**
+         * 현재 테마 배경 밉맵 (없으면 null)
+         */
+        public MipChain background() {
+            return theme == null ? null : theme.background;
+        }
+
+        @Override
+        public void close() {
+            if (entry != null)
+                release(entry);
+        }
+    }
+
     private static ImageManager instance;
-    private final Map<String, BufferedImage> images = new HashMap<>();
-    private String currentTheme = "School"; // 기본 테마
+    // 폴더 이름 -> 캐시 칸, 접근 순서 = LRU 순서 (this 로 잠금)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(8, 0.75f, true);
+    private long residentBytes = 0;
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "asset-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Theme current; // 현재 테마 (useTheme 전이면 null)
+    private volatile Map<String, BufferedImage> images = Collections.emptyMap(); // 현재 테마 이미지
+    private volatile String currentTheme = "School"; // 기본 테마 (리소스 폴더 이름)
+    private volatile String currentThemeKey = "SCHOOL"; // 같은 테마의 ObjectTypes 테마 이름
 
     private ImageManager() {
     }
 
-    public static ImageManager getInstance() {
+    public static synchronized ImageManager getInstance() {
         if (instance == null) {
             instance = new ImageManager();
         }
@@ -30,67 +143,184 @@ public class ImageManager {
     }
 
     /**
-     * 특정 테마의 이미지들을 로드
+     * 특정 테마의 이미지들을 로드해서 현재 테마로 (동기 - 아직 안 읽었으면 디코딩이 끝날 때까지 기다림)
      */
     public void loadThemeImages(String theme) {
-        currentTheme = theme;
-        images.clear(); // 기존 이미지 클리어
+        useTheme(loadThemeAsync(theme).join());
+    }
 
-        String themePath = "/assets/" + theme + "/";
+    /**
+     * 테마 디코딩 + 아틀라스 요청 (캐시에 있으면 같은 future 반환 = hit). 현재 테마는 바꾸지 않음
+     */
+    public synchronized CompletableFuture<Theme> loadThemeAsync(String theme) {
+        Entry e = entries.get(theme);
+        if (e != null) {
+            hits.increment();
+            return e.future;
+        }
+        misses.increment();
+        Entry created = new Entry(CompletableFuture
+                .supplyAsync(() -> decodeTheme(theme), loader)
+                .thenApplyAsync(imgs -> new Theme(theme, imgs), loader));
+        entries.put(theme, created);
+        created.future.thenAccept(t -> loaded(theme, created, t));
+        return created.future;
+    }
+
+    /**
+     * 곧 쓰일 것 같은 테마를 미리 디코딩 (결과는 보관만)
+     */
+    public void prefetch(String theme) {
+        loadThemeAsync(theme);
+    }
+
+    public synchronized boolean isThemeLoaded(String theme) {
+        Entry e = entries.get(theme);
+        return e != null && e.future.isDone();
+    }
 
-        // 배경과 술래 이미지 로드
-        loadImage("BG_TILE", themePath + "background.png");
-        loadImage("SEEKER", themePath + "Tagger.png");
-
-        // 테마별 오브젝트 이미지 로드
-        switch (theme) {
-            case "City":
-                loadImage("CON", themePath + "Con.png");
-                loadImage("OLDMAN", themePath + "OldMan.png");
-                loadImage("BLUEMAN", themePath + "blueMan.png");
-                loadImage("BLUE_CAR_H", themePath + "blue_car_horizontal.png");
-                loadImage("BLUE_CAR_V", themePath + "blue_car_verticle.png");
-                loadImage("LIGHT", themePath + "light.png");
-                loadImage("RED_CAR_H", themePath + "red_car_horizontal 2.png");
-                loadImage("RED_CAR_V", themePath + "red_car_verticle.png");
-                loadImage("TIRE", themePath + "tire.png");
-                loadImage("TRASH", themePath + "trash.png");
-                loadImage("WALKMAN", themePath + "walkman.png");
-                loadImage("WALKWOMAN", themePath + "walkwoman.png");
-                loadImage("WOMAN", themePath + "woman.png");
-                break;
-
-            case "Construction_site":
-                loadImage("BOX", themePath + "Box.png");
-                loadImage("CIRCLEBOX", themePath + "CircleBox.png");
-                loadImage("CON", themePath + "Con.png");
-                loadImage("TIRE", themePath + "Tire.png");
-                loadImage("BRICK", themePath + "brick.png");
-                loadImage("FENCE", themePath + "fence.png");
-                break;
-
-            case "School":
-            default:
-                loadImage("CHAIR", themePath + "Chair.png");
-                loadImage("TABLE", themePath + "Table.png");
-                loadImage("BROWNCLEANER", themePath + "browncleaner.png");
-                loadImage("FIRESTOP", themePath + "firestop.png");
-                loadImage("TRASH", themePath + "trash.png");
-                loadImage("WHITECLEANER", themePath + "whitecleaner.png");
-                break;
+    /**
+     * 디코딩이 끝난 테마를 현재 테마로 (참조 교체만). 예산 때문에 이미 버려졌던 테마면 캐시에 다시 넣음
+     */
+    public void useTheme(Theme theme) {
+        synchronized (this) {
+            if (!entries.containsKey(theme.folder)) {
+                Entry e = new Entry(CompletableFuture.completedFuture(theme));
+                entries.put(theme.folder, e);
+                e.bytes = theme.bytes;
+                residentBytes += e.bytes;
+            }
+            current = theme;
+            images = theme.images;
+            currentTheme = theme.folder;
+            currentThemeKey = ObjectTypes.themeOfFolder(theme.folder);
+            evict();
+        }
+    }
+
+    /**
+     * 현재 테마를 프레임 하나 동안 잡음 (그리는 동안 버려지지 않음)
+     */
+    public synchronized Frame acquire() {
+        Theme t = current;
+        if (t == null)
+            return new Frame(null, null);
+        Entry e = entries.get(t.folder);
+        if (e != null)
+            e.pins++;
+        return new Frame(t, e);
+    }
+
+    private synchronized void release(Entry e) {
+        if (--e.pins == 0)
+            evict();
+    }
+
+    private synchronized void loaded(String theme, Entry e, Theme t) {
+        if (entries.get(theme) != e)
+            return;
+        e.bytes = t.bytes;
+        residentBytes += e.bytes;
+        evict();
+    }
+
+    /**
+     * 예산을 넘는 동안 가장 오래 안 쓴 테마부터 버림 (현재 테마, 잡혀 있는 테마, 디코딩 중인 테마는 건너뜀)
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (residentBytes > BUDGET_BYTES && it.hasNext()) {
+            Map.Entry<String, Entry> me = it.next();
+            Entry e = me.getValue();
+            if (e.pins > 0 || !e.future.isDone() || me.getKey().equals(currentTheme))
+                continue;
+            it.remove();
+            residentBytes -= e.bytes;
+            evictions.increment();
+            System.out.println("🖼️ 테마 " + me.getKey() + " 이미지 캐시에서 제거 (" + (e.bytes >> 20) + "MB)");
+        }
+    }
+
+    /**
+     * 캐시 통계 한 줄 (진단 오버레이용)
+     */
+    public synchronized String statsLine() {
+        return String.format("이미지 캐시 %d테마 %.1f/%dMB hit %d miss %d evict %d", entries.size(),
+                residentBytes / 1048576.0, BUDGET_BYTES >> 20, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public synchronized long residentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * 테마 폴더의 배경/술래/오브젝트 이미지를 전부 읽음 (asset-loader 스레드)
+     * 빌드 때 만든 스프라이트 번들(SPRITE_DIR/폴더.sprites)이 있으면 매핑해서 복사만, 없거나 깨졌으면 PNG 디코딩
+     */
+    private Map<String, BufferedImage> decodeTheme(String theme) {
+        long t0 = System.nanoTime();
+        Map<String, BufferedImage> loaded = loadBundle(theme);
+        String source = "번들";
+        if (loaded == null) {
+            loaded = decodePngs(theme);
+            source = "PNG";
         }
+        System.out.println("🖼️ 테마 " + theme + " 이미지 " + loaded.size() + "개 " + source + " ("
+                + (System.nanoTime() - t0) / 1_000_000 + "ms)");
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * 스프라이트 번들이 있으면 전부 읽어서 반환, 없거나 읽지 못하면 null
+     */
+    static Map<String, BufferedImage> loadBundle(String theme) {
+        Path file = Path.of(SPRITE_DIR, theme + SpriteBundle.EXTENSION);
+        if (!Files.isRegularFile(file))
+            return null;
+        try {
+            return SpriteBundle.open(file).images();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ 스프라이트 번들 읽기 실패 " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 테마의 키 -> 이미지 경로 (배경, 술래, ObjectTypes 등록부에서 이 폴더의 오브젝트 스프라이트)
+     */
+    static Map<String, String> themeSources(String theme) {
+        String themePath = "/assets/" + theme + "/";
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("BG_TILE", themePath + "background.png");
+        sources.put("SEEKER", themePath + "Tagger.png");
+        for (int id = 0; id < ObjectTypes.count(); id++) {
+            ObjectTypes.Descriptor d = ObjectTypes.get(id);
+            if (d.sprite.startsWith(themePath))
+                sources.put(d.name, d.sprite);
+        }
+        return sources;
+    }
+
+    /**
+     * 테마의 PNG 를 전부 ImageIO 로 디코딩 (번들이 없을 때, SpriteBundler 입력)
+     */
+    static Map<String, BufferedImage> decodePngs(String theme) {
+        Map<String, BufferedImage> loaded = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : themeSources(theme).entrySet())
+            loadImage(loaded, e.getKey(), e.getValue());
+        return loaded;
     }
 
     /**
      * 단일 이미지 로드
      */
-    private void loadImage(String key, String path) {
+    private static void loadImage(Map<String, BufferedImage> into, String key, String path) {
         try {
             // 다양한 경로에서 이미지 로드 시도
             BufferedImage img = null;
 
             // 1. 클래스패스에서 로드 시도
-            try (var is = getClass().getResourceAsStream(path)) {
+            try (var is = ImageManager.class.getResourceAsStream(path)) {
                 if (is != null) {
                     img = ImageIO.read(is);
                 }
@@ -125,7 +355,7 @@ public class ImageManager {
             }
 
             if (img != null) {
-                images.put(key, img);
+                into.put(key, img);
                 System.out.println("✅ IMG " + key + " <- " + path);
             } else {
                 System.err.println("❌ IMG " + key + " not found: " + path);
@@ -137,7 +367,7 @@ public class ImageManager {
                 g2.setColor(java.awt.Color.BLACK);
                 g2.drawRect(0, 0, 47, 47);
                 g2.dispose();
-                images.put(key, img);
+                into.put(key, img);
             }
         } catch (Exception e) {
             System.err.println("❌ IMG 로드 실패 " + key + ": " + e.getMessage());
@@ -196,7 +426,7 @@ public class ImageManager {
      * 이미지가 로드되었는지 확인
      */
     public boolean isImageLoaded(String key) {
-        return images.containsKey(key) && images.get(key) != null;
+        return images.get(key) != null;
     }
 
     /**
@@ -222,23 +452,16 @@ public class ImageManager {
     }
 
     /**
-     * 테마별 오브젝트 타입 배열 반환
+     * 현재 테마의 ObjectTypes 테마 이름 (SCHOOL / CONSTRUCTION / CITY)
      */
-    public String[] getThemeObjectTypes(String theme) {
-        return switch (theme) {
-            case "City" -> new String[] { "CON", "OLDMAN", "BLUEMAN", "BLUE_CAR_H", "BLUE_CAR_V", "LIGHT",
-                    "RED_CAR_H", "RED_CAR_V", "TIRE", "TRASH", "WALKMAN", "WALKWOMAN", "WOMAN" };
-            case "Construction_site" -> new String[] { "BOX", "CIRCLEBOX", "CON", "TIRE", "BRICK", "FENCE" };
-            case "School" ->
-                new String[] { "CHAIR", "TABLE", "BROWNCLEANER", "FIRESTOP", "TRASH", "WHITECLEANER" };
-            default -> new String[] { "CHAIR", "TABLE" };
-        };
+    public String getCurrentThemeKey() {
+        return currentThemeKey;
     }
 
     /**
      * 현재 테마의 오브젝트 타입 배열 반환
      */
     public String[] getCurrentThemeObjectTypes() {
-        return getThemeObjectTypes(currentTheme);
+        return ObjectTypes.names(currentThemeKey);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간 히스토그램 (로그-선형 버킷, 스레드 안전)
+ * - 2의 거듭제곱 구간마다 16개 선형 버킷 → 상대 오차 약 6% 이내
+ * - 값 단위는 호출하는 쪽이 정함 (보통 마이크로초)
+ * - 기록은 락 없이 AtomicLongArray 증가만 하므로 여러 스레드에서 동시에 호출 가능
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;          // 구간당 버킷 수
+    private static final int BUCKETS = SUB + (63 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 값 하나 기록 (음수는 0으로 취급)
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+        if (value > max.get())
+            max.accumulateAndGet(value, Math::max);
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * p(0~100) 백분위 값. 해당 버킷의 상한을 돌려줌 (최대값을 넘지 않게 자름)
+     */
+    public long percentile(double p) {
+        long n = total.sum();
+        if (n == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * other 의 기록을 이 히스토그램에 더함 (구간별 통계 합산용)
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0)
+                counts.addAndGet(i, c);
+        }
+        total.add(other.total.sum());
+        sum.add(other.sum.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /**
+     * 모든 기록 삭제 (기록 중인 스레드와 겹치면 그 값은 한쪽에만 반영될 수 있음)
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * "n=.. p50=.. p90=.. p99=.. max=.." 한 줄 요약
+     */
+    public String summary(String unit) {
+        return "n=" + count()
+                + " p50=" + percentile(50) + unit
+                + " p90=" + percentile(90) + unit
+                + " p99=" + percentile(99) + unit
+                + " max=" + max() + unit;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB)
+            return (int) value;
+        int exp = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BITS
+        int shift = exp - SUB_BITS;
+        int mantissa = (int) (value >>> shift) - SUB;    // 0 ~ SUB-1
+        return SUB + shift * SUB + mantissa;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB)
+            return bucket;
+        int shift = (bucket - SUB) / SUB;
+        int mantissa = (bucket - SUB) % SUB;
+        return ((long) (SUB + mantissa + 1) << shift) - 1;
+    }
+}
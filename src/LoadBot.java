@@ -0,0 +1,312 @@
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 헤드리스 부하 테스트 봇 - Swing 창 없이 실제 프로토콜로 GameServer 에 접속
+ * - JOIN → SELECT_MAP → (봇 0이) START_GAME → MOVE:x:y:seq 무작위 이동, 술래는 SHOOT_RAY, 가끔 CHAT
+ * - 서버 왕복 지연 = MOVE 송신 ~ 같은 seq의 PLAYER_MOVE 에코 수신 (tick 대기 포함)
+ * - 주기적으로 처리량/지연 백분위/오류 수를 출력하고, 종료 시 전체 요약 출력
+ * - 봇마다 수신 스레드 하나(작은 스택), 송신은 공유 스케줄러에서 처리해서 수천 개까지 띄울 수 있음
+ *
+ * 사용: java -Dbots=500 -DmoveHz=20 -DshotHz=1 -DchatHz=0.05 -DdurationSec=60 LoadBot [host] [port]
+ */
+public class LoadBot {
+    private static final String[] MAPS = {"SCHOOL", "CITY", "CONSTRUCTION"};
+    private static final int WORLD_W = 2000, WORLD_H = 1200;
+    private static final int MARGIN = 60;
+    private static final double STEP = 8;                 // MOVE 한 번 이동 거리
+    private static final int SEQ_WINDOW = 256;            // 왕복 측정용 송신 시각 보관 개수
+    private static final long READER_STACK_BYTES = 512 * 1024; // 첫 호출 시 클래스 로딩/indy 부트스트랩이 이 스레드에서 일어나므로 여유 있게
+    private static final long REPORT_INTERVAL_MS = 5000;
+
+    // 설정
+    private final String host;
+    private final int port;
+    private final int botCount;
+    private final double moveHz, shotHz, chatHz;
+    private final long rampMs, durationMs;
+
+    // 통계 (모든 봇 공용)
+    private final LatencyHistogram intervalRtt = new LatencyHistogram(); // 구간용, 출력 후 비움
+    private final LatencyHistogram totalRtt = new LatencyHistogram();
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder receivedMessages = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder sentMoves = new LongAdder();
+    private final LongAdder ackedMoves = new LongAdder();
+    private final LongAdder shots = new LongAdder();
+    private final LongAdder connectErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final AtomicInteger connected = new AtomicInteger();
+
+    private final List<Bot> bots = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running = true;
+
+    LoadBot(String host, int port, int botCount, double moveHz, double shotHz, double chatHz,
+            long rampMs, long durationMs) {
+        this.host = host;
+        this.port = port;
+        this.botCount = botCount;
+        this.moveHz = moveHz;
+        this.shotHz = shotHz;
+        this.chatHz = chatHz;
+        this.rampMs = rampMs;
+        this.durationMs = durationMs;
+        this.scheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread t = new Thread(r, "bot-sender");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 12345;
+        LoadBot load = new LoadBot(host, port,
+                Integer.getInteger("bots", 50),
+                Double.parseDouble(System.getProperty("moveHz", "20")),
+                Double.parseDouble(System.getProperty("shotHz", "1")),
+                Double.parseDouble(System.getProperty("chatHz", "0.05")),
+                Long.getLong("rampMs", 5000),
+                Long.getLong("durationSec", 60) * 1000);
+        load.run();
+        System.exit(0);
+    }
+
+    void run() throws InterruptedException {
+        System.out.println("[BOT] " + botCount + "개 → " + host + ":" + port
+                + " (MOVE " + moveHz + "Hz, 사격 " + shotHz + "Hz, 채팅 " + chatHz + "Hz)");
+        long start = System.currentTimeMillis();
+        scheduler.scheduleAtFixedRate(() -> report(start), REPORT_INTERVAL_MS, REPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        long gap = botCount > 1 ? rampMs / botCount : 0;
+        for (int i = 0; i < botCount && running; i++) {
+            Bot bot = new Bot(i);
+            bots.add(bot);
+            scheduler.schedule(bot::connect, i * gap, TimeUnit.MILLISECONDS);
+        }
+
+        Thread.sleep(durationMs);
+        running = false;
+        for (Bot b : bots) {
+            b.close();
+        }
+        scheduler.shutdownNow();
+        printSummary(start);
+    }
+
+    private void report(long start) {
+        long sec = (System.currentTimeMillis() - start) / 1000;
+        long sent = sentMessages.sumThenReset();
+        long recv = receivedMessages.sumThenReset();
+        long bytes = receivedBytes.sumThenReset();
+        double secs = REPORT_INTERVAL_MS / 1000.0;
+        System.out.printf("[BOT] %3ds 연결 %d/%d 송신 %.0f/s 수신 %.0f/s (%.1fKB/s) RTT(us) %s 오류 %d%n",
+                sec, connected.get(), botCount, sent / secs, recv / secs, bytes / secs / 1024,
+                intervalRtt.summary(""), errorCount());
+        totalRtt.add(intervalRtt);
+        intervalRtt.reset();
+    }
+
+    private void printSummary(long start) {
+        totalRtt.add(intervalRtt);
+        long sec = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+        long moves = sentMoves.sum();
+        System.out.println("===== 부하 테스트 결과 (" + sec + "s, 봇 " + botCount + ") =====");
+        System.out.println("RTT(us)   " + totalRtt.summary("") + String.format(" mean=%.0f", totalRtt.mean()));
+        System.out.printf("MOVE      송신 %d, 에코 %d (%.1f%%, 나머지는 tick 병합/속도 제한)%n",
+                moves, ackedMoves.sum(), moves == 0 ? 0 : ackedMoves.sum() * 100.0 / moves);
+        System.out.println("SHOOT_RAY " + shots.sum());
+        System.out.println("오류      접속 " + connectErrors.sum() + ", 입출력 " + ioErrors.sum()
+                + ", 파싱 " + parseErrors.sum());
+    }
+
+    private long errorCount() {
+        return connectErrors.sum() + ioErrors.sum() + parseErrors.sum();
+    }
+
+    // ================== 봇 하나 ==================
+
+    private class Bot {
+        final int index;
+        final String name;
+        private Socket socket;
+        private Writer out;
+        private ScheduledFuture<?> actionTask;
+
+        volatile String id;
+        volatile boolean seeker = false;
+        volatile boolean playing = false;
+        double x = WORLD_W / 2.0, y = WORLD_H / 2.0;
+        double dirX = 1, dirY = 0;
+
+        // MOVE seq → 송신 시각(ns)
+        private final long[] sentAt = new long[SEQ_WINDOW];
+        private int seq = 0;
+        private volatile int lastAckSeq = -1;
+
+        Bot(int index) {
+            this.index = index;
+            this.name = "bot" + index;
+        }
+
+        void connect() {
+            try {
+                socket = new Socket(host, port);
+                socket.setTcpNoDelay(true);
+                out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                connectErrors.increment();
+                return;
+            }
+            connected.incrementAndGet();
+            Thread reader = new Thread(null, this::readLoop, "bot-" + index, READER_STACK_BYTES);
+            reader.setDaemon(true);
+            reader.start();
+
+            send("JOIN:" + name);
+            send("SELECT_MAP:" + MAPS[ThreadLocalRandom.current().nextInt(MAPS.length)]);
+            long period = Math.max(1, Math.round(1000 / moveHz));
+            actionTask = scheduler.scheduleAtFixedRate(this::act, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        private void readLoop() {
+            try {
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = in.readLine()) != null) {
+                    receivedMessages.increment();
+                    receivedBytes.add(line.length() + 1);
+                    try {
+                        handle(line);
+                    } catch (RuntimeException e) {
+                        parseErrors.increment();
+                    }
+                }
+            } catch (IOException e) {
+                if (running)
+                    ioErrors.increment();
+            } finally {
+                if (running)
+                    connected.decrementAndGet();
+                if (actionTask != null)
+                    actionTask.cancel(false);
+            }
+        }
+
+        private void handle(String line) {
+            String[] p = line.split(":");
+            switch (p[0]) {
+                case "JOINED" -> id = p[1];
+                case "PING" -> send(ClockSync.pong(p[1], System.currentTimeMillis())); // 서버 측 RTT 측정 응답
+                case "PLAYER_MOVE" -> {
+                    // PLAYER_MOVE:id:x:y[:seq] - 내 MOVE 에코면 왕복 시간 기록
+                    if (p.length >= 5 && p[1].equals(id)) {
+                        int s = Integer.parseInt(p[4]);
+                        long now = System.nanoTime();
+                        synchronized (this) {
+                            if (s > lastAckSeq && seq - s < SEQ_WINDOW) {
+                                long rttUs = (now - sentAt[s % SEQ_WINDOW]) / 1000;
+                                intervalRtt.record(rttUs);
+                                ackedMoves.increment();
+                                lastAckSeq = s;
+                            }
+                        }
+                    }
+                }
+                case "ALL_SELECTED" -> {
+                    if (index == 0)
+                        send("START_GAME");
+                }
+                case "ROLE" -> {
+                    // ROLE:SEEKER:x:y / ROLE:HIDER:disguise:x:y
+                    seeker = "SEEKER".equals(p[1]);
+                    synchronized (this) {
+                        x = Double.parseDouble(p[p.length - 2]);
+                        y = Double.parseDouble(p[p.length - 1]);
+                    }
+                }
+                case "GAME_PLAYING" -> playing = true;
+                case "GAME_END" -> playing = false;
+                case "GAME_RESET" -> {
+                    seeker = false;
+                    long delay = ThreadLocalRandom.current().nextLong(200, 1000);
+                    scheduler.schedule(() -> send("SELECT_MAP:" + MAPS[ThreadLocalRandom.current().nextInt(MAPS.length)]),
+                            delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        /**
+         * moveHz 주기로 호출: 무작위 이동 MOVE + 확률적으로 사격/채팅
+         */
+        private void act() {
+            if (!running)
+                return;
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            String move;
+            synchronized (this) {
+                if (r.nextDouble() < 0.05) { // 가끔 방향 전환
+                    double a = r.nextDouble(Math.PI * 2);
+                    dirX = Math.cos(a);
+                    dirY = Math.sin(a);
+                }
+                x += dirX * STEP;
+                y += dirY * STEP;
+                if (x < MARGIN || x > WORLD_W - MARGIN) dirX = -dirX;
+                if (y < MARGIN || y > WORLD_H - MARGIN) dirY = -dirY;
+                x = Math.max(MARGIN, Math.min(WORLD_W - MARGIN, x));
+                y = Math.max(MARGIN, Math.min(WORLD_H - MARGIN, y));
+
+                int s = ++seq;
+                sentAt[s % SEQ_WINDOW] = System.nanoTime();
+                move = "MOVE:" + (int) x + ":" + (int) y + ":" + s;
+            }
+            send(move);
+            sentMoves.increment();
+
+            if (seeker && playing && r.nextDouble() < shotHz / moveHz) {
+                send("SHOOT_RAY:" + (int) x + ":" + (int) y + ":" + dirX + ":" + dirY);
+                shots.increment();
+            }
+            if (r.nextDouble() < chatHz / moveHz) {
+                send("CHAT:" + name + " 부하 테스트 " + seq);
+            }
+        }
+
+        void send(String msg) {
+            Writer w = out;
+            if (w == null)
+                return;
+            try {
+                synchronized (w) {
+                    w.write(msg);
+                    w.write('\n');
+                    w.flush();
+                }
+                sentMessages.increment();
+            } catch (IOException e) {
+                if (running)
+                    ioErrors.increment();
+            }
+        }
+
+        void close() {
+            if (actionTask != null)
+                actionTask.cancel(false);
+            try {
+                if (socket != null)
+                    socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * (테마, 시드) -> 맵 오브젝트 배치. 서버와 클라이언트가 같은 코드로 같은 배치를 만듦
+ * - 서버는 MAP_SEED:테마:시드:버전 만 보내고, 클라이언트가 직접 생성
+ * - 오브젝트 번호 = 결과 목록의 인덱스 (서버 id 는 OBJ_번호, GAME_STATE 는 번호만 보냄)
+ * - java.util.Random 은 시드가 같으면 JVM 과 상관없이 같은 수열을 냄 (명세로 고정)
+ * 배치 알고리즘/오브젝트 풀(ObjectTypes 등록 순서)/월드 크기를 바꾸면 반드시 VERSION 을 올릴 것
+ * (버전이 다른 클라이언트는 MAP_REQUEST 로 INITIAL_MAP 전체 좌표를 받음)
+ */
+public final class MapGenerator {
+    public static final int VERSION = 1;
+
+    public static final int WORLD_W = 2000;
+    public static final int WORLD_H = 1200;
+    public static final int MAX_OBJECTS = 45; // 전체 최대 오브젝트 수
+
+    private static final int GRID_COLS = 8;   // 가로 셀 수
+    private static final int GRID_ROWS = 5;   // 세로 셀 수
+    private static final int MARGIN = 80;     // 셀 안쪽 여백
+
+    public static final class Placement {
+        public final int index;
+        public final int type; // ObjectTypes id
+        public final double x, y;
+
+        Placement(int index, int type, double x, double y) {
+            this.index = index;
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private MapGenerator() {
+    }
+
+    /**
+     * 그리드 기반 배치 (조금 널널하게) - 셀마다 60% 확률로 1개, 20% 확률로 1개 더
+     */
+    public static List<Placement> generate(String theme, long seed) {
+        Random rand = new Random(seed);
+        int[] pool = ObjectTypes.pool(theme);
+        List<Placement> out = new ArrayList<>(MAX_OBJECTS);
+        int cellWidth = WORLD_W / GRID_COLS;
+        int cellHeight = WORLD_H / GRID_ROWS;
+
+        for (int row = 0; row < GRID_ROWS && out.size() < MAX_OBJECTS; row++) {
+            for (int col = 0; col < GRID_COLS && out.size() < MAX_OBJECTS; col++) {
+                int cellX = col * cellWidth + MARGIN;
+                int cellY = row * cellHeight + MARGIN;
+                int maxX = (col + 1) * cellWidth - MARGIN;
+                int maxY = (row + 1) * cellHeight - MARGIN;
+
+                if (rand.nextDouble() < 0.6)
+                    place(rand, pool, out, cellX, cellY, maxX, maxY);
+
+                // 약간 더 풍성하게 보이기 위한 추가 배치 - 여전히 최대 수 체크
+                if (out.size() >= MAX_OBJECTS) break;
+                if (rand.nextDouble() < 0.2)
+                    place(rand, pool, out, cellX, cellY, maxX, maxY);
+            }
+        }
+        return out;
+    }
+
+    private static void place(Random rand, int[] pool, List<Placement> out,
+                              int cellX, int cellY, int maxX, int maxY) {
+        if (maxX <= cellX || maxY <= cellY)
+            return;
+        double x = cellX + rand.nextInt(maxX - cellX);
+        double y = cellY + rand.nextInt(maxY - cellY);
+        int type = pool[rand.nextInt(pool.length)];
+        out.add(new Placement(out.size(), type, x, y));
+    }
+}
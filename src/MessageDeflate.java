@@ -0,0 +1,149 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 메시지 한 줄 단위 압축 (Deflater + 프로토콜 단어 사전)
+ * - JOIN:이름:CAP 으로 클라이언트가 지원을 알리면 서버가 CAPS:CAP 으로 답하고 그 뒤부터 사용
+ * - 압축한 줄은 Z:<base64> 한 줄로 보냄 (줄 단위 프로토콜 그대로, 받는 쪽은 Z: 만 풀면 됨)
+ * - 메시지마다 독립 압축 (스트림 상태 없음) -> 브로드캐스트 Payload 는 한 번만 압축해서 공유
+ * - 짧은 줄(THRESHOLD 미만)이나 줄어들지 않는 줄은 그대로 보냄
+ * 사전은 양쪽이 바이트 단위로 같아야 하므로 단어 목록을 바꾸면 CAP 의 버전 숫자를 올릴 것
+ */
+public class MessageDeflate {
+    public static final String CAP = "deflate2";
+    public static final String PREFIX = "Z:";
+    public static final int THRESHOLD = 160; // 이 길이(문자) 미만은 압축하지 않음
+
+    private static final byte[] DICTIONARY = buildDictionary();
+
+    // 스레드별 재사용 (대부분 game-tick 스레드 하나에서만 압축)
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> {
+        Deflater d = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        d.setDictionary(DICTIONARY);
+        return d;
+    });
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+    // 계측 (원문/압축 바이트, 압축 시간)
+    private final LongAdder compressed;
+    private final LongAdder skipped;
+    private final LongAdder bytesIn;
+    private final LongAdder bytesOut;
+    private final LatencyHistogram deflateNanos;
+
+    public MessageDeflate(ServerMetrics metrics) {
+        compressed = metrics.counter("deflate.messages");
+        skipped = metrics.counter("deflate.skipped");
+        bytesIn = metrics.counter("deflate.bytes_in");
+        bytesOut = metrics.counter("deflate.bytes_out");
+        deflateNanos = metrics.histogram("deflate.ns");
+        metrics.gauge("deflate.ratio_pct", () -> {
+            long in = bytesIn.sum();
+            return in == 0 ? 0 : bytesOut.sum() * 100 / in;
+        });
+    }
+
+    /**
+     * 사전: 자주 나오는 단어일수록 뒤쪽 (deflate 는 가까운 거리 참조가 더 짧음)
+     * 프로토콜 명령/메시지 이름, 테마 이름, GAME_STATE 에 반복되는 조각 (오브젝트 종류는 ObjectTypes id 로 감)
+     */
+    private static byte[] buildDictionary() {
+        Set<String> words = new LinkedHashSet<>();
+        for (GameConstants.GameState s : GameConstants.GameState.values())
+            words.add(s.name());
+        words.add(NetworkProtocol.MSG_CONNECTED);
+        words.add(NetworkProtocol.MSG_CHAT);
+        words.add(NetworkProtocol.MSG_GAME_END);
+        words.add(NetworkProtocol.MSG_BULLET);
+        words.add(NetworkProtocol.MSG_DAMAGE);
+        words.add(NetworkProtocol.MSG_PLAYER_DEATH);
+        words.add(NetworkProtocol.MSG_DISGUISE_CHANGE);
+        words.add(NetworkProtocol.MSG_INITIAL_MAP + ":OBJ_");
+        words.add("MAP_SELECTIONS:");
+        words.add("PLAYER_LIST:");
+        for (GameConstants.Theme theme : GameConstants.Theme.values())
+            words.add(theme.name());
+        words.add(";OBJ_");
+        words.add(",-1;");
+        words.add(",100,");
+        words.add(".0,");
+        words.add(",false,true,");
+        words.add(",false,false,");
+        words.add(",true,true,");
+        words.add(";PLAYER_");
+        words.add(NetworkProtocol.MSG_GAME_STATE + ":PLAYING:PLAYER_");
+        return String.join("", words).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 보낼 한 줄 -> Z:<base64>. 짧거나 줄어들지 않으면 null (원문 그대로 보낼 것)
+     */
+    public String deflate(String line) {
+        if (line.length() < THRESHOLD) {
+            skipped.increment();
+            return null;
+        }
+        long t0 = System.nanoTime();
+        byte[] raw = line.getBytes(StandardCharsets.UTF_8);
+        Deflater d = DEFLATERS.get();
+        d.reset();
+        d.setDictionary(DICTIONARY);
+        d.setInput(raw);
+        d.finish();
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(raw.length / 2 + 16);
+        byte[] chunk = new byte[512];
+        while (!d.finished()) {
+            buf.write(chunk, 0, d.deflate(chunk));
+        }
+        String out = PREFIX + Base64.getEncoder().encodeToString(buf.toByteArray());
+        deflateNanos.record(System.nanoTime() - t0);
+        if (out.length() >= line.length()) {
+            skipped.increment();
+            return null;
+        }
+        compressed.increment();
+        bytesIn.add(raw.length + 1);
+        bytesOut.add(out.length() + 1);
+        return out;
+    }
+
+    public static boolean isDeflated(String line) {
+        return line.startsWith(PREFIX);
+    }
+
+    /**
+     * Z:<base64> -> 원문 한 줄 (받는 쪽, 스레드별 Inflater 재사용)
+     */
+    public static String inflate(String line) throws IOException {
+        byte[] data = Base64.getDecoder().decode(line.substring(PREFIX.length()));
+        Inflater inf = INFLATERS.get();
+        inf.reset();
+        inf.setInput(data);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(data.length * 4);
+        byte[] chunk = new byte[1024];
+        try {
+            while (!inf.finished()) {
+                int n = inf.inflate(chunk);
+                if (n == 0) {
+                    if (inf.needsDictionary()) {
+                        inf.setDictionary(DICTIONARY);
+                    } else if (inf.needsInput()) {
+                        throw new IOException("잘린 압축 메시지");
+                    }
+                }
+                buf.write(chunk, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("압축 메시지 오류: " + e.getMessage(), e);
+        }
+        return buf.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이미지 하나의 밉맵 단계 목록 - 0단계 = 원본, 한 단계마다 가로/세로 절반 (2x2 평균, premultiplied ARGB)
+ * - 줄여서 그릴 때 그릴 크기 이상인 가장 작은 단계를 골라 그림 (큰 원본을 매 프레임 축소하지 않고, 축소 시 지글거림 감소)
+ * - 미니맵처럼 아주 작게 그릴 때는 작은 단계를 썸네일로 그대로 사용
+ * 만든 뒤에는 읽기 전용 (asset-loader 에서 만들고 EDT 에서 읽음)
+ */
+public final class MipChain {
+    private final BufferedImage[] levels;
+
+    private MipChain(BufferedImage[] levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * 긴 변이 minSize 이하가 되거나 maxLevels 단계가 될 때까지 절반씩 줄임. 0단계는 base 그대로
+     */
+    public static MipChain build(BufferedImage base, int minSize, int maxLevels) {
+        List<BufferedImage> out = new ArrayList<>();
+        out.add(base);
+        BufferedImage prev = toPremultiplied(base);
+        while (out.size() < maxLevels && Math.max(prev.getWidth(), prev.getHeight()) > minSize
+                && Math.min(prev.getWidth(), prev.getHeight()) > 1) {
+            prev = half(prev);
+            out.add(prev);
+        }
+        return new MipChain(out.toArray(new BufferedImage[0]));
+    }
+
+    /**
+     * 그리는 배율(화면 크기 / 원본 크기) -> 그 배율 이상 해상도를 가진 가장 작은 단계 번호
+     * 배율 1 이상이면 0, 0.5 이하면 1, 0.25 이하면 2 ...
+     */
+    public static int levelFor(double scale) {
+        if (scale >= 1)
+            return 0;
+        return (int) Math.floor(Math.log(1 / scale) / Math.log(2) + 1e-9);
+    }
+
+    public BufferedImage level(int level) {
+        return levels[Math.max(0, Math.min(level, levels.length - 1))];
+    }
+
+    /**
+     * 너비 width 로 그릴 때 쓸 단계 (width 이상인 가장 작은 단계)
+     */
+    public BufferedImage forWidth(int width) {
+        for (int i = levels.length - 1; i > 0; i--) {
+            if (levels[i].getWidth() >= width)
+                return levels[i];
+        }
+        return levels[0];
+    }
+
+    public int count() {
+        return levels.length;
+    }
+
+    /**
+     * 픽셀 메모리 추정 (픽셀당 4바이트, 0단계 포함)
+     */
+    public long bytes() {
+        long b = 0;
+        for (BufferedImage img : levels)
+            b += 4L * img.getWidth() * img.getHeight();
+        return b;
+    }
+
+    /**
+     * 2x2 평균으로 절반 크기 (홀수 크기는 마지막 줄/칸을 한 번 더 씀)
+     * premultiplied 값끼리 평균해야 투명 가장자리가 검게 번지지 않음
+     */
+    private static BufferedImage half(BufferedImage src) {
+        int sw = src.getWidth(), sh = src.getHeight();
+        int w = Math.max(1, sw / 2), h = Math.max(1, sh / 2);
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        WritableRaster in = src.getRaster(), out = dst.getRaster();
+        int[] r0 = new int[sw], r1 = new int[sw], row = new int[w];
+        for (int y = 0; y < h; y++) {
+            in.getDataElements(0, Math.min(2 * y, sh - 1), sw, 1, r0);
+            in.getDataElements(0, Math.min(2 * y + 1, sh - 1), sw, 1, r1);
+            for (int x = 0; x < w; x++) {
+                int x0 = Math.min(2 * x, sw - 1), x1 = Math.min(2 * x + 1, sw - 1);
+                row[x] = average(r0[x0], r0[x1], r1[x0], r1[x1]);
+            }
+            out.setDataElements(0, y, w, 1, row);
+        }
+        return dst;
+    }
+
+    private static int average(int a, int b, int c, int d) {
+        int argb = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int sum = ((a >>> shift) & 0xFF) + ((b >>> shift) & 0xFF) + ((c >>> shift) & 0xFF) + ((d >>> shift) & 0xFF);
+            argb |= ((sum + 2) >> 2) << shift;
+        }
+        return argb;
+    }
+
+    private static BufferedImage toPremultiplied(BufferedImage img) {
+        if (img.getType() == BufferedImage.TYPE_INT_ARGB_PRE)
+            return img;
+        BufferedImage pre = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = pre.createGraphics();
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return pre;
+    }
+}
@@ -0,0 +1,282 @@
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 네트워크 장애 시뮬레이터 - GameClient 와 GameServer 사이에 끼우는 루프백 TCP 프록시
+ * - 지연(latency) + 지터(jitter): 줄 단위로 전달 시각을 늦춤 (TCP처럼 순서는 유지)
+ * - 대역폭 제한: 방향별 토큰 버킷(바이트/초)으로 쓰기 속도 제한
+ * - 줄 드롭: droppable 명령(위치 상태 등 최신 값만 의미 있는 것)만 확률적으로 버림
+ * - UDP_OFFER 는 기본으로 걸러서 위치 상태도 이 프록시(TCP)를 거치게 함
+ * 모든 설정은 실행 중에도 setter로 바꿀 수 있음 (테스트 스크립트용)
+ *
+ * 사용: java NetworkImpairmentProxy [listenPort] [targetHost] [targetPort]
+ *       -Dproxy.latencyMs=80 -Dproxy.jitterMs=20 -Dproxy.bandwidth=32000 -Dproxy.drop=0.05
+ *       클라이언트 접속 주소를 localhost:listenPort 로 입력
+ */
+public class NetworkImpairmentProxy implements Closeable {
+    private static final Set<String> DEFAULT_DROPPABLE = Set.of("MOVE", "INPUT", "PLAYER_MOVE");
+
+    private final int listenPort;
+    private final String targetHost;
+    private final int targetPort;
+
+    // 방향(클라→서버, 서버→클라) 공통 설정
+    private volatile long latencyMs = 0;
+    private volatile long jitterMs = 0;
+    private volatile long bandwidthBytesPerSec = 0; // 0 = 제한 없음
+    private volatile double dropRate = 0;
+    private volatile Set<String> droppableCommands = DEFAULT_DROPPABLE;
+    private volatile boolean filterUdpOffer = true;
+
+    // 통계
+    private final LongAdder forwardedLines = new LongAdder();
+    private final LongAdder droppedLines = new LongAdder();
+    private final LongAdder forwardedBytes = new LongAdder();
+
+    private ServerSocket serverSocket;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+    public NetworkImpairmentProxy(int listenPort, String targetHost, int targetPort) {
+        this.listenPort = listenPort;
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int listen = args.length > 0 ? Integer.parseInt(args[0]) : 12400;
+        String host = args.length > 1 ? args[1] : "localhost";
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : 12345;
+
+        NetworkImpairmentProxy proxy = new NetworkImpairmentProxy(listen, host, port);
+        proxy.setLatency(Long.getLong("proxy.latencyMs", 0), Long.getLong("proxy.jitterMs", 0));
+        proxy.setBandwidth(Long.getLong("proxy.bandwidth", 0));
+        proxy.setDropRate(Double.parseDouble(System.getProperty("proxy.drop", "0")));
+        proxy.start();
+        System.out.println("🐢 장애 프록시: " + listen + " → " + host + ":" + port
+                + " (지연 " + proxy.latencyMs + "±" + proxy.jitterMs + "ms, 대역폭 " + proxy.bandwidthBytesPerSec
+                + "B/s, 드롭 " + proxy.dropRate + ")");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(proxy.stats())));
+    }
+
+    /**
+     * 리슨 시작 (접속 수락은 별도 스레드에서)
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(listenPort);
+        Thread t = new Thread(this::acceptLoop, "proxy-accept");
+        t.start();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket server = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                server.setTcpNoDelay(true);
+                sockets.add(client);
+                sockets.add(server);
+                pipe(client, server, "c2s");
+                pipe(server, client, "s2c");
+            } catch (IOException e) {
+                if (!serverSocket.isClosed())
+                    System.err.println("프록시 연결 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 한 방향 파이프: 읽기 스레드가 줄마다 드롭/전달 시각을 정하고, 쓰기 스레드가 시각과 대역폭에 맞춰 전송
+     */
+    private void pipe(Socket from, Socket to, String name) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(from.getInputStream(), StandardCharsets.UTF_8));
+        OutputStream out = new BufferedOutputStream(to.getOutputStream());
+        LinkedBlockingQueue<Delayed> queue = new LinkedBlockingQueue<>();
+
+        Thread reader = new Thread(() -> {
+            long lastDeliverNanos = 0;
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (shouldDrop(line)) {
+                        droppedLines.increment();
+                        continue;
+                    }
+                    // 지터가 있어도 TCP 스트림이므로 앞선 줄보다 먼저 도착하지 않게 함
+                    long deliver = Math.max(System.nanoTime() + sampleDelayMs() * 1_000_000L, lastDeliverNanos);
+                    lastDeliverNanos = deliver;
+                    queue.put(new Delayed(deliver, (line + "\n").getBytes(StandardCharsets.UTF_8)));
+                }
+            } catch (IOException | InterruptedException ignored) {
+            } finally {
+                queue.add(Delayed.EOF);
+            }
+        }, "proxy-" + name + "-read");
+
+        Thread writer = new Thread(() -> {
+            TokenBucket bucket = null;
+            long bucketRate = 0;
+            try {
+                while (true) {
+                    Delayed d = queue.take();
+                    if (d == Delayed.EOF)
+                        break;
+                    sleepUntil(d.deliverNanos);
+
+                    long rate = bandwidthBytesPerSec;
+                    if (rate <= 0) {
+                        out.write(d.bytes);
+                    } else {
+                        if (bucket == null || bucketRate != rate) {
+                            bucketRate = rate;
+                            bucket = new TokenBucket(rate, Math.max(1, rate / 20)); // 버스트 = 50ms 분량
+                        }
+                        writeShaped(out, d.bytes, bucket, Math.max(1, rate / 20));
+                    }
+                    if (queue.isEmpty())
+                        out.flush();
+                    forwardedLines.increment();
+                    forwardedBytes.add(d.bytes.length);
+                }
+            } catch (IOException | InterruptedException ignored) {
+            } finally {
+                closeQuietly(from);
+                closeQuietly(to);
+                sockets.remove(from);
+                sockets.remove(to);
+            }
+        }, "proxy-" + name + "-write");
+
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.start();
+        writer.start();
+    }
+
+    /**
+     * 버스트 크기 단위로 나눠서 토큰이 찰 때까지 기다리며 전송
+     */
+    private static void writeShaped(OutputStream out, byte[] bytes, TokenBucket bucket, long burst) throws IOException {
+        int off = 0;
+        while (off < bytes.length) {
+            int chunk = (int) Math.min(burst, bytes.length - off);
+            long wait;
+            while ((wait = bucket.nanosUntil(chunk)) > 0) {
+                out.flush(); // 기다리는 동안 이미 보낸 바이트는 내보냄
+                LockSupport.parkNanos(wait);
+            }
+            bucket.tryAcquire(chunk);
+            out.write(bytes, off, chunk);
+            off += chunk;
+        }
+    }
+
+    private boolean shouldDrop(String line) {
+        if (filterUdpOffer && line.startsWith("UDP_OFFER"))
+            return true;
+        double rate = dropRate;
+        if (rate <= 0)
+            return false;
+        int idx = line.indexOf(':');
+        String cmd = idx < 0 ? line : line.substring(0, idx);
+        return droppableCommands.contains(cmd) && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private long sampleDelayMs() {
+        long base = latencyMs, jitter = jitterMs;
+        if (jitter <= 0)
+            return base;
+        return Math.max(0, base + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1));
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long wait;
+        while ((wait = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    // ===== 실행 중 설정 변경 =====
+
+    /**
+     * 방향별 편도 지연과 지터(±ms)
+     */
+    public void setLatency(long latencyMs, long jitterMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+    }
+
+    /**
+     * 방향별 대역폭 상한(바이트/초), 0이면 제한 없음
+     */
+    public void setBandwidth(long bytesPerSec) {
+        this.bandwidthBytesPerSec = Math.max(0, bytesPerSec);
+    }
+
+    /**
+     * droppable 명령 줄을 버릴 확률 (0~1)
+     */
+    public void setDropRate(double dropRate) {
+        this.dropRate = Math.max(0, Math.min(1, dropRate));
+    }
+
+    /**
+     * 드롭 대상 명령 목록 (기본: MOVE, INPUT, PLAYER_MOVE)
+     */
+    public void setDroppableCommands(Set<String> commands) {
+        this.droppableCommands = Set.copyOf(commands);
+    }
+
+    /**
+     * false면 UDP_OFFER 를 통과시켜 클라가 UDP 채널을 직접 쓰게 함 (UDP는 이 프록시를 거치지 않음)
+     */
+    public void setFilterUdpOffer(boolean filter) {
+        this.filterUdpOffer = filter;
+    }
+
+    public String stats() {
+        return "[PROXY] 전달 " + forwardedLines.sum() + "줄 / " + forwardedBytes.sum() + "B, 드롭 " + droppedLines.sum() + "줄";
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(serverSocket);
+        for (Socket s : sockets) {
+            closeQuietly(s);
+        }
+        sockets.clear();
+    }
+
+    private static void closeQuietly(Closeable c) {
+        try {
+            if (c != null)
+                c.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * 전달 예정 줄 (deliverNanos 이후에 씀)
+     */
+    private static class Delayed {
+        static final Delayed EOF = new Delayed(0, new byte[0]);
+
+        final long deliverNanos;
+        final byte[] bytes;
+
+        Delayed(long deliverNanos, byte[] bytes) {
+            this.deliverNanos = deliverNanos;
+            this.bytes = bytes;
+        }
+    }
+}
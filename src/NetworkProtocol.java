@@ -11,6 +11,7 @@ public class NetworkProtocol {
     public static final String CMD_CHAT = "CHAT";
     public static final String CMD_DISCONNECT = "DISCONNECT";
     public static final String CMD_CHANGE_DISGUISE = "CHANGE_DISGUISE";
+    public static final String CMD_PING = "PING"; // PING:t0 (양방향, 받은 쪽이 PONG 으로 응답)
 
     // 서버 -> 클라이언트 메시지
     public static final String MSG_CONNECTED = "CONNECTED";
@@ -28,6 +29,7 @@ public class NetworkProtocol {
     public static final String MSG_COUNTDOWN = "COUNTDOWN";
     public static final String MSG_DISGUISE_CHANGE = "DISGUISE_CHANGE";
     public static final String MSG_SEEKER_FREEZE = "SEEKER_FREEZE";
+    public static final String MSG_PONG = "PONG"; // PONG:t0:t1:t2 (ClockSync 참고)
 
     /**
      * 메시지를 파싱하여 명령어와 인자로 분리
@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테마별 오브젝트/변장 종류 등록부 - 종류마다 작은 int id 와 미리 계산한 설명(스프라이트, 그리기 크기, 충돌 반경)
+ * - id = 등록 순서 (0부터 연속), 같은 이름이라도 테마가 다르면 스프라이트가 달라 다른 id
+ * - 프로토콜(INITIAL_MAP, GAME_STATE 변장, ROLE)은 이름 대신 id 를 보냄, 변장 없음은 NONE(-1)
+ * - 렌더링/판정은 get(id) 또는 id 로 인덱싱한 배열만 사용 (프레임마다 문자열 비교/맵 조회 없음)
+ * 서버와 클라이언트가 같은 표를 써야 하므로 등록 순서를 바꾸면 MapGenerator.VERSION 도 올릴 것
+ */
+public final class ObjectTypes {
+    public static final int NONE = -1;
+    public static final double DEFAULT_RADIUS = 22; // 오브젝트 충돌 반경
+    private static final int DEFAULT_DRAW_SIZE = 80;
+
+    public static final class Descriptor {
+        public final int id;
+        public final String theme;   // SCHOOL / CONSTRUCTION / CITY
+        public final String name;    // BLUE_CAR_H 등 (로그/폴백 도형용)
+        public final String sprite;  // 클래스패스 경로 /assets/<폴더>/<파일>
+        public final int drawSize;   // 화면에 그릴 한 변 크기(px)
+        public final double radius;  // 서버 레이 판정 반경
+
+        Descriptor(int id, String theme, String name, String sprite, int drawSize, double radius) {
+            this.id = id;
+            this.theme = theme;
+            this.name = name;
+            this.sprite = sprite;
+            this.drawSize = drawSize;
+            this.radius = radius;
+        }
+    }
+
+    private static final List<Descriptor> registered = new ArrayList<>();
+    private static final Map<String, String> folders = new LinkedHashMap<>();   // 테마 -> 리소스 폴더
+    private static final Map<String, int[]> pools = new LinkedHashMap<>();      // 테마 -> 등록 순서 id 목록
+    private static final Descriptor[] TYPES;
+
+    static {
+        // 배열 순서 = 맵 생성/변장 후보 순서 (MapGenerator 가 이 순서로 뽑음)
+        theme("SCHOOL", "School",
+                "CHAIR", "Chair.png", 120,
+                "TABLE", "Table.png", 120,
+                "BROWNCLEANER", "browncleaner.png", 120,
+                "FIRESTOP", "firestop.png", 100,   // 소화기는 다른 학용품보다 작게
+                "TRASH", "trash.png", 120,
+                "WHITECLEANER", "whitecleaner.png", 120);
+        theme("CONSTRUCTION", "Construction_site",
+                "BOX", "Box.png", DEFAULT_DRAW_SIZE,
+                "CIRCLEBOX", "CircleBox.png", DEFAULT_DRAW_SIZE,
+                "CON", "Con.png", DEFAULT_DRAW_SIZE,
+                "TIRE", "Tire.png", DEFAULT_DRAW_SIZE,
+                "BRICK", "brick.png", DEFAULT_DRAW_SIZE,
+                "FENCE", "fence.png", DEFAULT_DRAW_SIZE);
+        theme("CITY", "City",
+                "CON", "Con.png", DEFAULT_DRAW_SIZE,
+                "OLDMAN", "OldMan.png", DEFAULT_DRAW_SIZE,
+                "BLUEMAN", "blueMan.png", DEFAULT_DRAW_SIZE,
+                "BLUE_CAR_H", "blue_car_horizontal.png", DEFAULT_DRAW_SIZE,
+                "BLUE_CAR_V", "blue_car_verticle.png", DEFAULT_DRAW_SIZE,
+                "LIGHT", "light.png", DEFAULT_DRAW_SIZE,
+                "RED_CAR_H", "red_car_horizontal 2.png", DEFAULT_DRAW_SIZE,
+                "RED_CAR_V", "red_car_verticle.png", DEFAULT_DRAW_SIZE,
+                "TIRE", "tire.png", DEFAULT_DRAW_SIZE,
+                "TRASH", "trash.png", DEFAULT_DRAW_SIZE,
+                "WALKMAN", "walkman.png", DEFAULT_DRAW_SIZE,
+                "WALKWOMAN", "walkwoman.png", DEFAULT_DRAW_SIZE,
+                "WOMAN", "woman.png", DEFAULT_DRAW_SIZE);
+        TYPES = registered.toArray(new Descriptor[0]);
+    }
+
+    private ObjectTypes() {
+    }
+
+    /**
+     * entries = 이름, 스프라이트 파일, 그리기 크기 반복
+     */
+    private static void theme(String theme, String folder, Object... entries) {
+        int[] ids = new int[entries.length / 3];
+        for (int i = 0; i < ids.length; i++) {
+            int id = registered.size();
+            registered.add(new Descriptor(id, theme, (String) entries[i * 3],
+                    "/assets/" + folder + "/" + entries[i * 3 + 1], (Integer) entries[i * 3 + 2], DEFAULT_RADIUS));
+            ids[i] = id;
+        }
+        folders.put(theme, folder);
+        pools.put(theme, ids);
+    }
+
+    /**
+     * id -> 설명, 범위 밖(NONE 포함)이면 null
+     */
+    public static Descriptor get(int id) {
+        return id >= 0 && id < TYPES.length ? TYPES[id] : null;
+    }
+
+    public static int count() {
+        return TYPES.length;
+    }
+
+    /**
+     * 테마의 오브젝트 id 목록 (맵 배치 + 숨는 사람 변장 후보). 모르는 테마는 SCHOOL. 수정하지 말 것
+     */
+    public static int[] pool(String theme) {
+        int[] ids = pools.get(theme);
+        return ids != null ? ids : pools.get("SCHOOL");
+    }
+
+    /**
+     * 테마의 오브젝트 이름 목록 (이름 기반 코드용)
+     */
+    public static String[] names(String theme) {
+        int[] ids = pool(theme);
+        String[] out = new String[ids.length];
+        for (int i = 0; i < ids.length; i++)
+            out[i] = TYPES[ids[i]].name;
+        return out;
+    }
+
+    /**
+     * (테마, 이름) -> id, 없으면 NONE (설정/테스트용, 매 프레임 쓰지 말 것)
+     */
+    public static int find(String theme, String name) {
+        for (int id : pool(theme)) {
+            if (TYPES[id].name.equals(name))
+                return id;
+        }
+        return NONE;
+    }
+
+    /**
+     * 테마 이름(SCHOOL 등) -> 리소스 폴더 이름(School 등). 모르는 테마는 School
+     */
+    public static String folder(String theme) {
+        return folders.getOrDefault(theme, "School");
+    }
+
+    /**
+     * 리소스 폴더 이름 -> 테마 이름 (folder 의 반대). 모르는 폴더는 SCHOOL
+     */
+    public static String themeOfFolder(String folder) {
+        for (Map.Entry<String, String> e : folders.entrySet()) {
+            if (e.getValue().equals(folder))
+                return e.getKey();
+        }
+        return "SCHOOL";
+    }
+}
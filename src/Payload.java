@@ -0,0 +1,51 @@
+import java.nio.charset.Charset;
+
+/**
+ * 한 번만 인코딩해서 여러 연결에 그대로 쓰는 메시지 한 줄 (줄바꿈 포함 바이트)
+ * - 브로드캐스트/맵 데이터처럼 받는 사람마다 내용이 같은 메시지용
+ * - 인코딩은 연결의 PrintWriter 와 같은 기본 문자셋 사용 (섞어 써도 바이트가 같음)
+ * - 압축을 쓰는 연결용 Z: 줄은 처음 필요할 때 한 번만 만들어 같이 보관 (deflated)
+ * 불변 객체라 여러 스레드에서 공유 가능
+ */
+public final class Payload {
+    private final String text;
+    private final byte[] bytes;
+    private volatile Payload deflated; // 압축본 (압축 이득이 없으면 this)
+
+    private Payload(String text) {
+        this.text = text;
+        this.bytes = (text + "\n").getBytes(Charset.defaultCharset());
+    }
+
+    public static Payload of(String line) {
+        return new Payload(line);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /**
+     * 줄바꿈까지 포함한 인코딩 결과 (수정하지 말 것)
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * 압축을 협상한 연결로 보낼 줄 - 첫 호출에서 압축 (동시에 불려도 결과가 같아 한 번 더 압축될 뿐)
+     */
+    public Payload deflated(MessageDeflate codec) {
+        Payload d = deflated;
+        if (d == null) {
+            String z = codec.deflate(text);
+            d = z == null ? this : new Payload(z);
+            deflated = d;
+        }
+        return d;
+    }
+}
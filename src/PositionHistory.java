@@ -0,0 +1,83 @@
+/**
+ * 플레이어 위치 이력 (서버 랙 보정용)
+ * - 시각 오름차순 링버퍼(long[]/double[])에 이동할 때마다 기록
+ * - 과거 시점 위치 조회는 이진 탐색 O(log n) + 두 기록 사이 선형 보간
+ */
+public class PositionHistory {
+    private static final int CAPACITY = 64; // 60Hz 이동 기준 약 1초
+
+    private final long[] times = new long[CAPACITY];
+    private final double[] xs = new double[CAPACITY];
+    private final double[] ys = new double[CAPACITY];
+    private int head = 0;  // 다음에 쓸 위치
+    private int count = 0;
+
+    /**
+     * 위치 기록 (timeMs는 단조 증가하는 서버 시각)
+     */
+    public synchronized void record(long timeMs, double x, double y) {
+        if (count > 0) {
+            int last = index(count - 1);
+            if (timeMs <= times[last]) {
+                xs[last] = x;
+                ys[last] = y;
+                return;
+            }
+        }
+        times[head] = timeMs;
+        xs[head] = x;
+        ys[head] = y;
+        head = (head + 1) % CAPACITY;
+        if (count < CAPACITY)
+            count++;
+    }
+
+    /**
+     * 순간이동(게임 시작/리셋) 시 이전 이력을 버리고 새 위치부터 기록
+     */
+    public synchronized void reset(long timeMs, double x, double y) {
+        count = 0;
+        record(timeMs, x, y);
+    }
+
+    /**
+     * timeMs 시점의 위치를 out[0], out[1]에 기록. 이력이 없으면 false
+     * 가장 오래된 기록보다 이전이면 가장 오래된 위치, 최신 기록 이후면 최신 위치를 반환
+     */
+    public synchronized boolean positionAt(long timeMs, double[] out) {
+        if (count == 0)
+            return false;
+
+        int newest = index(count - 1);
+        if (timeMs >= times[newest]) {
+            out[0] = xs[newest];
+            out[1] = ys[newest];
+            return true;
+        }
+        int oldest = index(0);
+        if (timeMs <= times[oldest]) {
+            out[0] = xs[oldest];
+            out[1] = ys[oldest];
+            return true;
+        }
+
+        // times[index(lo)] <= timeMs < times[index(hi)] 를 만족하는 구간 이진 탐색
+        int lo = 0, hi = count - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (times[index(mid)] <= timeMs)
+                lo = mid;
+            else
+                hi = mid;
+        }
+        int a = index(lo), b = index(hi);
+        double t = (timeMs - times[a]) / (double) (times[b] - times[a]);
+        out[0] = xs[a] + (xs[b] - xs[a]) * t;
+        out[1] = ys[a] + (ys[b] - ys[a]) * t;
+        return true;
+    }
+
+    private int index(int i) {
+        return (head - count + i + CAPACITY) % CAPACITY;
+    }
+}
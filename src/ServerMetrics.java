@@ -0,0 +1,123 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 서버 계측 - 카운터, 지연 히스토그램, 게이지를 모아 텍스트로 노출
+ * - 명령별: 처리 수 / 속도 제한으로 버린 수 / handle() 처리 시간(ns) 히스토그램
+ * - 이름 붙은 카운터/히스토그램/게이지 (브로드캐스트 팬아웃 시간, tick 시간, 연결 수 등)
+ * - 로컬 HTTP(127.0.0.1) GET /metrics 로 조회, 종료 시 파일로 덤프
+ * 기록 쪽은 LongAdder / LatencyHistogram 이라 여러 스레드에서 락 없이 호출 가능
+ */
+public class ServerMetrics {
+    private final long startMs = System.currentTimeMillis();
+
+    private final Map<String, CommandStats> commands = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, Supplier<String>> sections = new ConcurrentHashMap<>();
+
+    /**
+     * 명령 하나의 통계
+     */
+    public static class CommandStats {
+        public final LongAdder accepted = new LongAdder();
+        public final LongAdder rateLimited = new LongAdder();
+        public final LatencyHistogram handleNanos = new LatencyHistogram();
+    }
+
+    public CommandStats command(String cmd) {
+        return commands.computeIfAbsent(cmd, k -> new CommandStats());
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * 조회 시점에 값을 읽는 게이지 등록 (연결 수, 큐 길이 등)
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * 표 형태 등 자유 형식 구역 등록 (클라이언트별 송신량 등)
+     */
+    public void section(String title, Supplier<String> body) {
+        sections.put(title, body);
+    }
+
+    /**
+     * 현재 값 전체를 사람이 읽을 수 있는 텍스트로
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# uptime_s ").append((System.currentTimeMillis() - startMs) / 1000).append('\n');
+
+        sb.append("\n# gauges\n");
+        gauges.forEach((name, g) -> sb.append(name).append(' ').append(g.getAsLong()).append('\n'));
+
+        sb.append("\n# counters\n");
+        counters.forEach((name, c) -> sb.append(name).append(' ').append(c.sum()).append('\n'));
+
+        sb.append("\n# commands (handle ns)\n");
+        commands.forEach((cmd, s) -> sb.append(String.format("%-12s accepted=%d rate_limited=%d %s%n",
+                cmd, s.accepted.sum(), s.rateLimited.sum(), s.handleNanos.summary(""))));
+
+        sb.append("\n# histograms\n");
+        histograms.forEach((name, h) -> sb.append(name).append(' ').append(h.summary("")).append('\n'));
+
+        sections.forEach((title, body) -> sb.append("\n# ").append(title).append('\n').append(body.get()));
+        return sb.toString();
+    }
+
+    /**
+     * 127.0.0.1:port 에 GET /metrics 제공 (외부에서는 접근 불가)
+     */
+    public HttpServer startHttp(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", ex -> {
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        http.setExecutor(null); // 조회 빈도가 낮아 전용 스레드 하나로 충분
+        http.start();
+        return http;
+    }
+
+    /**
+     * JVM 종료 시 file 에 마지막 값 기록
+     */
+    public void dumpOnShutdown(Path file) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.writeString(file, render(), StandardCharsets.UTF_8);
+                System.out.println("📊 메트릭 저장: " + file.toAbsolutePath());
+            } catch (IOException e) {
+                System.err.println("메트릭 저장 실패: " + e.getMessage());
+            }
+        }, "metrics-dump"));
+    }
+}
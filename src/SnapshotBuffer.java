@@ -0,0 +1,140 @@
+/**
+ * 원격 엔티티 위치 스냅샷 버퍼 (엔티티 하나당 하나)
+ * - 수신 시각과 함께 위치를 링버퍼에 저장
+ * - 렌더링은 INTERP_DELAY_MS 만큼 과거 시점을 두 스냅샷 사이 보간으로 계산
+ * - 서버는 움직이는 동안만 위치를 보내고 멈출 때 같은 위치를 한 번 더 보냄 → 마지막 두 스냅샷이 같으면 정지로 보고 그 자리에 둠
+ * - 움직이던 엔티티의 다음 스냅샷이 최근 도착 간격보다 늦어질 때만 언더런으로 세고,
+ *   MAX_EXTRAPOLATE_MS 까지만 외삽 후 다시 최신 위치로 수렴
+ */
+public class SnapshotBuffer {
+    public static final long INTERP_DELAY_MS = 100;     // 렌더링 지연 (네트워크 지터 흡수)
+    public static final long MAX_EXTRAPOLATE_MS = 100;  // 외삽 허용 한도
+    private static final double TELEPORT_DISTANCE = 200; // 이 이상 점프하면 보간하지 않고 리셋
+    private static final int CAPACITY = 32;
+    private static final long MAX_INTERVAL_MS = 250; // 이보다 긴 도착 간격은 정지 후 재출발로 보고 평균에서 제외
+
+    private double intervalMs = 50; // 움직이는 동안의 최근 스냅샷 도착 간격 (지수 평균)
+
+    private final long[] times = new long[CAPACITY];
+    private final double[] xs = new double[CAPACITY];
+    private final double[] ys = new double[CAPACITY];
+    private int head = 0;  // 다음에 쓸 위치
+    private int count = 0;
+
+    // 통계 (렌더 프레임 단위)
+    private long samples = 0;
+    private long underruns = 0;
+    private long extrapolations = 0;
+
+    /**
+     * 스냅샷 추가 (timeMs는 단조 증가하는 로컬 수신 시각)
+     */
+    public void add(long timeMs, double x, double y) {
+        if (count > 0) {
+            int last = index(count - 1);
+            if (Math.hypot(x - xs[last], y - ys[last]) > TELEPORT_DISTANCE) {
+                count = 0; // 순간이동(리스폰 등)은 보간하지 않음
+            } else if (timeMs <= times[last]) {
+                if (x != xs[last] || y != ys[last]) {
+                    xs[last] = x; // 같은 시각에 여러 개 오면 최신 값으로 덮어씀
+                    ys[last] = y;
+                    return;
+                }
+                timeMs = times[last] + 1; // 같은 위치(정지 알림)는 덮어쓰면 정지가 안 보이므로 뒤에 붙임
+            } else if (!resting()) {
+                long gap = timeMs - times[last];
+                if (gap <= MAX_INTERVAL_MS)
+                    intervalMs += (gap - intervalMs) * 0.1;
+            }
+        }
+        times[head] = timeMs;
+        xs[head] = x;
+        ys[head] = y;
+        head = (head + 1) % CAPACITY;
+        if (count < CAPACITY)
+            count++;
+    }
+
+    /**
+     * renderTimeMs 시점의 위치를 out[0], out[1]에 기록. 스냅샷이 하나도 없으면 false
+     */
+    public boolean sample(long renderTimeMs, double[] out) {
+        if (count == 0)
+            return false;
+        samples++;
+
+        int oldest = index(0);
+        if (renderTimeMs <= times[oldest]) {
+            out[0] = xs[oldest];
+            out[1] = ys[oldest];
+            return true;
+        }
+
+        int newest = index(count - 1);
+        if (renderTimeMs >= times[newest]) {
+            out[0] = xs[newest];
+            out[1] = ys[newest];
+            // 멈춰 있거나, 다음 스냅샷이 아직 올 때가 안 됐거나, 외삽/복귀 구간도 지났으면(정지 알림 유실로 보고)
+            // 최신 위치 그대로 (언더런 아님)
+            long overdue = renderTimeMs - times[newest] - Math.round(intervalMs);
+            if (!resting() && overdue > 0 && overdue < 2 * MAX_EXTRAPOLATE_MS) {
+                underruns++;
+                int prev = index(count - 2);
+                long dt = times[newest] - times[prev];
+                if (dt > 0) {
+                    // 한도까지는 마지막 속도로 외삽, 이후 같은 시간 동안 최신 위치로 되돌아옴
+                    double k = overdue <= MAX_EXTRAPOLATE_MS ? overdue : 2 * MAX_EXTRAPOLATE_MS - overdue;
+                    out[0] += (xs[newest] - xs[prev]) / dt * k;
+                    out[1] += (ys[newest] - ys[prev]) / dt * k;
+                    extrapolations++;
+                }
+            }
+            return true;
+        }
+
+        // 최신 쪽부터 거꾸로 찾아 renderTime을 감싸는 두 스냅샷 보간
+        for (int i = count - 1; i > 0; i--) {
+            int a = index(i - 1);
+            if (times[a] <= renderTimeMs) {
+                int b = index(i);
+                double t = (renderTimeMs - times[a]) / (double) (times[b] - times[a]);
+                out[0] = xs[a] + (xs[b] - xs[a]) * t;
+                out[1] = ys[a] + (ys[b] - ys[a]) * t;
+                return true;
+            }
+        }
+        out[0] = xs[oldest];
+        out[1] = ys[oldest];
+        return true;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * 스냅샷이 하나뿐이거나 마지막 두 스냅샷 위치가 같으면 정지 상태
+     */
+    private boolean resting() {
+        if (count < 2)
+            return true;
+        int a = index(count - 2), b = index(count - 1);
+        return xs[a] == xs[b] && ys[a] == ys[b];
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getUnderruns() {
+        return underruns;
+    }
+
+    public long getExtrapolations() {
+        return extrapolations;
+    }
+
+    private int index(int i) {
+        return (head - count + i + CAPACITY) % CAPACITY;
+    }
+}
@@ -0,0 +1,145 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테마 하나의 오브젝트/술래 스프라이트를 화면에 그리는 크기 그대로 한 장에 모은 이미지
+ * - 칸 번호 = ObjectTypes id (술래는 SEEKER 칸), 칸 위치는 int 배열에서 바로 조회
+ * - 그릴 때는 한 장에서 잘라 1:1 복사만 함 (프레임마다 원본을 확대/축소하지 않고, 매번 다른 이미지로 바꾸지 않음)
+ * - 화면이 있으면 화면 호환 이미지(가속 가능), headless 면 TYPE_INT_ARGB_PRE
+ * - 줄여 그리기(관전 줌)용으로 아틀라스 전체의 밉맵(LEVELS 단계)을 같이 둠
+ *   칸 위치/여백을 2^(LEVELS-1) 배수로 맞춰서 어느 단계에서도 칸 경계가 픽셀에 딱 맞고 이웃 칸이 섞이지 않음
+ * 만든 뒤에는 읽기 전용이라 여러 스레드에서 공유 가능
+ */
+public final class SpriteAtlas {
+    public static final int SEEKER = ObjectTypes.count(); // 술래 스프라이트 칸
+    public static final int SEEKER_W = 100, SEEKER_H = 120; // 월드에서 그리는 술래 크기
+    private static final int MAX_WIDTH = 1024;
+    public static final int LEVELS = 3; // 1, 1/2, 1/4
+    private static final int ALIGN = 1 << (LEVELS - 1); // 칸 위치 정렬 겸 칸 사이 여백
+
+    private final MipChain mips;
+    private final int[] rects; // 칸마다 x, y, w, h (w == 0 이면 없음)
+
+    private SpriteAtlas(MipChain mips, int[] rects) {
+        this.mips = mips;
+        this.rects = rects;
+    }
+
+    /**
+     * 테마(SCHOOL 등)의 오브젝트를 ObjectTypes 그리기 크기로, 술래(SEEKER 키)를 SEEKER_W × SEEKER_H 로 모음
+     * images = ImageManager 의 키 -> 원본 이미지
+     */
+    public static SpriteAtlas pack(String theme, Map<String, BufferedImage> images) {
+        List<int[]> entries = new ArrayList<>(); // {칸, w, h}
+        for (int id : ObjectTypes.pool(theme)) {
+            ObjectTypes.Descriptor d = ObjectTypes.get(id);
+            if (images.get(d.name) != null)
+                entries.add(new int[]{id, d.drawSize, d.drawSize});
+        }
+        if (images.get("SEEKER") != null)
+            entries.add(new int[]{SEEKER, SEEKER_W, SEEKER_H});
+        entries.sort((a, b) -> b[2] - a[2]); // 키 큰 순서로 선반(shelf) 배치
+
+        int[] rects = new int[(SEEKER + 1) * 4];
+        int x = 0, y = 0, shelfH = 0, width = 1;
+        for (int[] e : entries) {
+            if (x + e[1] > MAX_WIDTH) {
+                x = 0;
+                y += align(shelfH) + ALIGN;
+                shelfH = 0;
+            }
+            rects[e[0] * 4] = x;
+            rects[e[0] * 4 + 1] = y;
+            rects[e[0] * 4 + 2] = e[1];
+            rects[e[0] * 4 + 3] = e[2];
+            width = Math.max(width, align(x + e[1]));
+            x += align(e[1]) + ALIGN;
+            shelfH = Math.max(shelfH, e[2]);
+        }
+        int height = Math.max(ALIGN, align(y + shelfH));
+
+        BufferedImage atlas = createImage(width, height);
+        Graphics2D g = atlas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        for (int[] e : entries) {
+            String key = e[0] == SEEKER ? "SEEKER" : ObjectTypes.get(e[0]).name;
+            int r = e[0] * 4;
+            g.drawImage(images.get(key), rects[r], rects[r + 1], rects[r + 2], rects[r + 3], null);
+        }
+        g.dispose();
+        return new SpriteAtlas(MipChain.build(atlas, 1, LEVELS), rects);
+    }
+
+    private static int align(int v) {
+        return (v + ALIGN - 1) & -ALIGN;
+    }
+
+    private static BufferedImage createImage(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    public boolean has(int slot) {
+        return slot >= 0 && slot <= SEEKER && rects[slot * 4 + 2] > 0;
+    }
+
+    /**
+     * 칸 하나를 (cx, cy) 중심으로 원래 크기 그대로 그림. 없는 칸이면 false
+     */
+    public boolean draw(Graphics2D g, int slot, int cx, int cy) {
+        return draw(g, slot, cx, cy, 0);
+    }
+
+    /**
+     * 밉맵 level 단계에서 잘라 (cx, cy) 중심, 원래 크기(w × h) 자리에 그림
+     * g 가 1/2^level 근처로 축소 변환된 상태면 화면에서는 거의 1:1 복사가 됨
+     */
+    public boolean draw(Graphics2D g, int slot, int cx, int cy, int level) {
+        if (!has(slot))
+            return false;
+        int l = Math.max(0, Math.min(level, mips.count() - 1));
+        int r = slot * 4;
+        int w = rects[r + 2], h = rects[r + 3];
+        int sx = rects[r] >> l, sy = rects[r + 1] >> l;
+        int dx = cx - w / 2, dy = cy - h / 2;
+        g.drawImage(mips.level(l), dx, dy, dx + w, dy + h, sx, sy, sx + (w >> l), sy + (h >> l), null);
+        return true;
+    }
+
+    public int width() {
+        return mips.level(0).getWidth();
+    }
+
+    public int height() {
+        return mips.level(0).getHeight();
+    }
+
+    /**
+     * 픽셀 메모리 추정 (밉맵 포함)
+     */
+    public long bytes() {
+        return mips.bytes();
+    }
+
+    /**
+     * 채워진 칸 수
+     */
+    public int slots() {
+        int n = 0;
+        for (int s = 0; s <= SEEKER; s++) {
+            if (has(s))
+                n++;
+        }
+        return n;
+    }
+}
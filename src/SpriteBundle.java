@@ -0,0 +1,143 @@
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 테마 하나의 스프라이트를 미리 디코딩해 둔 파일 (SpriteBundler 가 빌드 때 만들고 클라이언트가 FileChannel.map 으로 읽음)
+ * - 픽셀은 premultiplied ARGB int (TYPE_INT_ARGB_PRE 와 같은 배치), 리틀 엔디언
+ * - 읽을 때 PNG 압축 해제/필터 복원 없이 매핑된 메모리에서 이미지 버퍼로 한 번 복사만 함
+ *
+ * 형식: MAGIC, VERSION, 개수, [키 길이(short), 키(UTF-8), 너비, 높이, 픽셀 오프셋(long)] × 개수, 픽셀 데이터(4바이트 정렬)
+ */
+public final class SpriteBundle {
+    public static final String EXTENSION = ".sprites";
+    private static final int MAGIC = 0x53505242; // "SPRB"
+    private static final int VERSION = 1;
+
+    private final MappedByteBuffer map;
+    private final Map<String, int[]> index = new LinkedHashMap<>(); // 키 -> {너비, 높이, 오프셋}
+
+    private SpriteBundle(MappedByteBuffer map) throws IOException {
+        this.map = map;
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        if (map.getInt() != MAGIC || map.getInt() != VERSION)
+            throw new IOException("스프라이트 번들 형식/버전 불일치");
+        int count = map.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] key = new byte[map.getShort()];
+            map.get(key);
+            int w = map.getInt(), h = map.getInt();
+            long offset = map.getLong();
+            index.put(new String(key, StandardCharsets.UTF_8), new int[]{w, h, (int) offset});
+        }
+    }
+
+    /**
+     * 번들 파일을 읽기 전용으로 매핑 (파일 채널은 매핑 후 닫아도 됨)
+     */
+    public static SpriteBundle open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new SpriteBundle(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /**
+     * 번들의 모든 이미지 (키 순서 유지)
+     */
+    public Map<String, BufferedImage> images() {
+        Map<String, BufferedImage> out = new LinkedHashMap<>();
+        for (String key : index.keySet())
+            out.put(key, image(key));
+        return out;
+    }
+
+    /**
+     * 키 하나를 TYPE_INT_ARGB_PRE 이미지로 (없으면 null)
+     * 행 단위로 매핑 영역에서 바로 래스터에 복사 (Java2D 가속 캐시가 유지되도록 setDataElements 사용)
+     */
+    public BufferedImage image(String key) {
+        int[] e = index.get(key);
+        if (e == null)
+            return null;
+        int w = e[0], h = e[1];
+        IntBuffer px = map.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(e[2]).slice()
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        WritableRaster raster = img.getRaster();
+        int[] row = new int[w];
+        for (int y = 0; y < h; y++) {
+            px.get(row);
+            raster.setDataElements(0, y, w, 1, row);
+        }
+        return img;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 이미지들을 번들 파일로 저장 (TYPE_INT_ARGB_PRE 가 아니면 변환해서 기록)
+     */
+    public static void write(Path file, Map<String, BufferedImage> images) throws IOException {
+        int headerBytes = 12;
+        for (String key : images.keySet())
+            headerBytes += 2 + key.getBytes(StandardCharsets.UTF_8).length + 16;
+        long offset = (headerBytes + 3) & ~3L;
+        long total = offset;
+        for (BufferedImage img : images.values())
+            total += 4L * img.getWidth() * img.getHeight();
+
+        ByteBuffer header = ByteBuffer.allocate((int) offset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(images.size());
+        long pixelOffset = offset;
+        for (Map.Entry<String, BufferedImage> en : images.entrySet()) {
+            byte[] key = en.getKey().getBytes(StandardCharsets.UTF_8);
+            BufferedImage img = en.getValue();
+            header.putShort((short) key.length).put(key).putInt(img.getWidth()).putInt(img.getHeight()).putLong(pixelOffset);
+            pixelOffset += 4L * img.getWidth() * img.getHeight();
+        }
+        header.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = ch.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.put(header);
+            out.position((int) offset);
+            for (BufferedImage img : images.values()) {
+                BufferedImage pre = toPremultiplied(img);
+                int w = pre.getWidth();
+                int[] row = new int[w];
+                for (int y = 0; y < pre.getHeight(); y++) {
+                    pre.getRaster().getDataElements(0, y, w, 1, row);
+                    out.asIntBuffer().put(row);
+                    out.position(out.position() + 4 * w);
+                }
+            }
+            out.force();
+        }
+    }
+
+    private static BufferedImage toPremultiplied(BufferedImage img) {
+        if (img.getType() == BufferedImage.TYPE_INT_ARGB_PRE)
+            return img;
+        BufferedImage pre = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        java.awt.Graphics2D g = pre.createGraphics();
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return pre;
+    }
+}
@@ -0,0 +1,54 @@
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 빌드 단계: 테마마다 PNG 를 디코딩해서 스프라이트 번들(SpriteBundle) 하나로 저장
+ * - 실행: gradle bundleSprites (build/sprites/<테마 폴더>.sprites 생성, 클라이언트가 시작할 때 찾아서 사용)
+ * - 오브젝트/술래 스프라이트는 화면에 최대 200px 정도로만 그리므로 긴 변을 maxSize 로 줄여서 저장 (0 = 원본 크기)
+ *   배경(BG_TILE)은 월드 전체로 늘려 그리므로 원본 크기 유지
+ * 인자: [출력 폴더] [maxSize]
+ */
+public class SpriteBundler {
+    private static final int DEFAULT_MAX_SIZE = 320;
+
+    public static void main(String[] args) throws IOException {
+        Path outDir = Path.of(args.length > 0 ? args[0] : ImageManager.SPRITE_DIR);
+        int maxSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SIZE;
+
+        for (GameConstants.Theme theme : GameConstants.Theme.values()) {
+            String folder = ObjectTypes.folder(theme.name());
+            long t0 = System.nanoTime();
+            Map<String, BufferedImage> images = new LinkedHashMap<>();
+            for (Map.Entry<String, BufferedImage> e : ImageManager.decodePngs(folder).entrySet()) {
+                boolean background = e.getKey().equals("BG_TILE");
+                images.put(e.getKey(), background ? e.getValue() : fit(e.getValue(), maxSize));
+            }
+            Path file = outDir.resolve(folder + SpriteBundle.EXTENSION);
+            SpriteBundle.write(file, images);
+            System.out.printf("%s: %d개 -> %s (%.1f MB, %d ms)%n", folder, images.size(), file,
+                    Files.size(file) / 1e6, (System.nanoTime() - t0) / 1_000_000);
+        }
+    }
+
+    /**
+     * 긴 변이 maxSize 를 넘으면 비율 유지하며 축소 (빌드 때 한 번이라 느려도 품질 좋은 면적 평균 사용)
+     */
+    private static BufferedImage fit(BufferedImage img, int maxSize) {
+        int w = img.getWidth(), h = img.getHeight();
+        if (maxSize <= 0 || Math.max(w, h) <= maxSize)
+            return img;
+        double scale = (double) maxSize / Math.max(w, h);
+        int sw = Math.max(1, (int) Math.round(w * scale));
+        int sh = Math.max(1, (int) Math.round(h * scale));
+        BufferedImage out = new BufferedImage(sw, sh, BufferedImage.TYPE_INT_ARGB_PRE);
+        java.awt.Graphics2D g = out.createGraphics();
+        g.drawImage(img.getScaledInstance(sw, sh, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        g.dispose();
+        return out;
+    }
+}
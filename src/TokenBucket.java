@@ -0,0 +1,53 @@
+/**
+ * 토큰 버킷 속도 제한기
+ * - 초당 ratePerSec 개씩 토큰이 차고, 최대 burst 개까지 쌓임
+ * - 한 스레드(연결/방향 하나)에서만 쓰는 것을 전제로 동기화하지 않음
+ */
+public class TokenBucket {
+    private final double ratePerSec;
+    private final double burst;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSec, double burst) {
+        this.ratePerSec = ratePerSec;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 1개 사용 시도 (없으면 false, 대기하지 않음)
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * 토큰 n개 사용 시도 (없으면 false, 대기하지 않음)
+     */
+    public boolean tryAcquire(double n) {
+        refill();
+        if (tokens < n)
+            return false;
+        tokens -= n;
+        return true;
+    }
+
+    /**
+     * 토큰 n개가 모일 때까지 남은 시간(ns). 이미 있으면 0
+     * (대역폭 제한처럼 버리지 않고 기다려야 하는 곳에서 사용)
+     */
+    public long nanosUntil(double n) {
+        refill();
+        if (tokens >= n)
+            return 0;
+        return (long) Math.ceil((n - tokens) / ratePerSec * 1e9);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * ratePerSec);
+        lastRefillNanos = now;
+    }
+}
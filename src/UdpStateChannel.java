@@ -0,0 +1,220 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * UDP 상태 채널 - 위치처럼 자주 오고 최신 값만 의미 있는 메시지 전용
+ * - 데이터그램 하나 = "seq|메시지 한 줄" (UTF-8)
+ * - 수신 측은 메시지 키(명령 + 첫 필드)별로 이미 받은 것보다 오래된 seq를 버림 (drop-old)
+ * - 협상: TCP JOIN 이후 서버 UDP_OFFER:port:token → 클라 HELLO:token 데이터그램 → 서버 UDP_READY
+ * - 손실/지연 주입(Impairment)으로 루프백에서도 나쁜 네트워크를 재현 가능
+ */
+public class UdpStateChannel implements Closeable {
+    public static final String HELLO = "HELLO";
+    private static final int MAX_DATAGRAM = 65_507;
+
+    private final DatagramChannel channel;
+    private final AtomicLong sendSeq = new AtomicLong();
+    private final LongAdder sentDatagrams = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private volatile Impairment impairment;
+    private ScheduledExecutorService delayer; // 지연 주입 시에만 생성
+
+    private UdpStateChannel(DatagramChannel channel) {
+        this.channel = channel;
+        this.impairment = Impairment.fromSystemProperties();
+    }
+
+    /**
+     * 서버용: 지정 포트에 바인드
+     */
+    public static UdpStateChannel bind(int port) throws IOException {
+        DatagramChannel ch = DatagramChannel.open();
+        ch.bind(new InetSocketAddress(port));
+        return new UdpStateChannel(ch);
+    }
+
+    /**
+     * 클라이언트용: 서버 주소에 연결 (connect된 채널은 그 주소의 데이터그램만 수신)
+     */
+    public static UdpStateChannel connect(String host, int port) throws IOException {
+        DatagramChannel ch = DatagramChannel.open();
+        ch.connect(new InetSocketAddress(host, port));
+        return new UdpStateChannel(ch);
+    }
+
+    /**
+     * 손실/지연 주입 설정 교체 (null이면 주입 없음)
+     */
+    public void setImpairment(Impairment impairment) {
+        this.impairment = impairment == null ? Impairment.NONE : impairment;
+    }
+
+    /**
+     * 특정 주소로 전송 (서버용)
+     */
+    public void send(SocketAddress to, String line) {
+        ByteBuffer buf = encode(line);
+        if (buf == null)
+            return;
+        Impairment imp = impairment;
+        if (imp.lossRate > 0 && ThreadLocalRandom.current().nextDouble() < imp.lossRate)
+            return; // 손실 주입
+        long delay = imp.sampleDelayMs();
+        if (delay <= 0) {
+            write(to, buf);
+        } else {
+            delayer().schedule(() -> write(to, buf), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 연결된 상대에게 전송 (클라이언트용)
+     */
+    public void send(String line) {
+        send(null, line);
+    }
+
+    /**
+     * 수신 스레드 시작. 오래된(seq가 뒤처진) 메시지는 버리고 나머지를 handler(보낸 주소, 메시지)로 전달
+     */
+    public void startReceiving(BiConsumer<SocketAddress, String> handler) {
+        Thread t = new Thread(() -> {
+            ByteBuffer buf = ByteBuffer.allocate(MAX_DATAGRAM);
+            Map<String, Long> latestSeq = new HashMap<>();
+            while (channel.isOpen()) {
+                try {
+                    buf.clear();
+                    SocketAddress from = channel.receive(buf);
+                    buf.flip();
+                    String data = StandardCharsets.UTF_8.decode(buf).toString();
+                    int sep = data.indexOf('|');
+                    if (sep <= 0)
+                        continue;
+                    long seq = Long.parseLong(data.substring(0, sep));
+                    String line = data.substring(sep + 1);
+
+                    String key = messageKey(line);
+                    Long last = latestSeq.get(key);
+                    if (last != null && seq <= last)
+                        continue; // 순서가 뒤바뀐 옛 상태
+                    latestSeq.put(key, seq);
+                    handler.accept(from, line);
+                } catch (NumberFormatException ignored) {
+                    // 형식이 틀린 데이터그램은 무시
+                } catch (IOException e) {
+                    if (channel.isOpen())
+                        System.err.println("UDP 수신 오류: " + e.getMessage());
+                    return;
+                }
+            }
+        }, "udp-state-recv");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public long getSentDatagrams() {
+        return sentDatagrams.sum();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        if (delayer != null)
+            delayer.shutdownNow();
+    }
+
+    private ByteBuffer encode(String line) {
+        byte[] bytes = (sendSeq.incrementAndGet() + "|" + line).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_DATAGRAM)
+            return null; // 큰 메시지는 TCP로 보내야 함
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private void write(SocketAddress to, ByteBuffer buf) {
+        try {
+            int n = buf.remaining();
+            if (to == null)
+                channel.write(buf);
+            else
+                channel.send(buf, to);
+            sentDatagrams.increment();
+            sentBytes.add(n);
+        } catch (IOException e) {
+            // 비신뢰 채널: 전송 실패는 손실과 동일하게 취급
+        }
+    }
+
+    private synchronized ScheduledExecutorService delayer() {
+        if (delayer == null) {
+            delayer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "udp-delay");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return delayer;
+    }
+
+    /**
+     * drop-old 판단 키: 명령 + 첫 필드 (예: "PLAYER_MOVE:PLAYER_1a2b3c4d")
+     */
+    private static String messageKey(String line) {
+        int first = line.indexOf(':');
+        if (first < 0)
+            return line;
+        int second = line.indexOf(':', first + 1);
+        return second < 0 ? line : line.substring(0, second);
+    }
+
+    /**
+     * 송신 측 손실/지연 주입 설정
+     * 시스템 속성: udp.loss(0~1), udp.delayMs, udp.jitterMs
+     */
+    public static class Impairment {
+        public static final Impairment NONE = new Impairment(0, 0, 0);
+
+        public final double lossRate;
+        public final long delayMs;
+        public final long jitterMs;
+
+        public Impairment(double lossRate, long delayMs, long jitterMs) {
+            this.lossRate = lossRate;
+            this.delayMs = delayMs;
+            this.jitterMs = jitterMs;
+        }
+
+        public static Impairment fromSystemProperties() {
+            return new Impairment(
+                    Double.parseDouble(System.getProperty("udp.loss", "0")),
+                    Long.parseLong(System.getProperty("udp.delayMs", "0")),
+                    Long.parseLong(System.getProperty("udp.jitterMs", "0")));
+        }
+
+        long sampleDelayMs() {
+            if (jitterMs <= 0)
+                return delayMs;
+            return Math.max(0, delayMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+        }
+    }
+}